@@ -7,4 +7,5 @@
  */
 module shapesprint {
 	requires java.desktop;
+	requires jdk.management;
 }
\ No newline at end of file
@@ -0,0 +1,302 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Font;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+
+/**
+ * A shared cache of the images in the images folder, so that each one is only read and decoded once instead of every time a Drawable is resized.
+ * Decoded images are kept with soft references, so the JVM can throw them away if it runs low on memory (they are simply loaded again the next time they are asked for).
+ * Scaled copies of them are cached by path, width and height, up to a memory budget, after which the least recently used copies are thrown away.
+ * The images returned are shared between everything that asks for them, so they must not be drawn on. Copy or scale an image first to change it.
+ * Fonts and decoded sounds are cached the same way, and a scene's assets can be loaded in parallel before it starts with {@link #preload(AssetManifest)}.
+ * @author Colin Toft
+ */
+public final class AssetManager {
+
+	/** The memory budget for scaled images when none is set, in bytes. */
+	public static final long defaultMemoryBudget = 64L * 1024 * 1024;
+
+	private static class ScaledKey {
+		final String path;
+		final int width, height;
+
+		ScaledKey(String path, int width, int height) {
+			this.path = path;
+			this.width = width;
+			this.height = height;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof ScaledKey)) {
+				return false;
+			}
+			ScaledKey k = (ScaledKey) o;
+			return width == k.width && height == k.height && path.equals(k.path);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(path, width, height);
+		}
+	}
+
+	/** The decoded images by path (guarded by AssetManager.class). */
+	private static final Map<String, SoftReference<BufferedImage>> images = new HashMap<>();
+
+	/** The scaled images, from least to most recently used (guarded by AssetManager.class). */
+	private static final LinkedHashMap<ScaledKey, BufferedImage> scaledImages = new LinkedHashMap<>(64, 0.75f, true);
+
+	private static long memoryBudget = defaultMemoryBudget;
+	private static long scaledBytes; // The memory used by the scaled images, in bytes
+
+	/** The fonts in the fonts folder, at the size they were created with (guarded by AssetManager.class). Fonts are small, so they are never thrown away. */
+	private static final Map<String, Font> fonts = new HashMap<>();
+
+	/** The decoded sounds by file name (guarded by AssetManager.class). */
+	private static final Map<String, SoftReference<Sound>> sounds = new HashMap<>();
+
+	private static long hits, misses;
+
+	/** A sound decoded into PCM samples, ready to be given to a {@link javax.sound.sampled.Clip}. */
+	public static class Sound {
+		public final AudioFormat format;
+		public final byte[] data; // Shared, so must not be changed
+
+		Sound(AudioFormat format, byte[] data) {
+			this.format = format;
+			this.data = data;
+		}
+	}
+
+	private AssetManager() {}
+
+	/**
+	 * Returns the image at the given path in the images folder, loading it the first time it is asked for.
+	 * @param path The path of the image, relative to the images folder, for example "menuItems/play.png".
+	 * @return The image, or null if it couldn't be loaded.
+	 */
+	public static BufferedImage getImage(String path) {
+		return getImage(AssetManager.class, path);
+	}
+
+	/**
+	 * Returns the image at the given path in the images folder, looking it up as a resource of the given class the first time it is asked for.
+	 * Since the image is shared, the class is only used if the image hasn't been loaded yet.
+	 * @return The image, or null if it couldn't be loaded.
+	 */
+	public static BufferedImage getImage(Class<?> resourceGrabber, String path) {
+		synchronized (AssetManager.class) {
+			SoftReference<BufferedImage> ref = images.get(path);
+			BufferedImage image = ref != null ? ref.get() : null;
+			if (image != null) {
+				hits++;
+				return image;
+			}
+			misses++;
+		}
+
+		// Decoded outside of the lock, since decoding is slow and another thread loading the same image at the same time does no harm
+		BufferedImage image = Util.loadImageFromFile(resourceGrabber, path);
+		if (image != null) {
+			synchronized (AssetManager.class) {
+				images.put(path, new SoftReference<>(image));
+			}
+		}
+		return image;
+	}
+
+	/**
+	 * Returns the image at the given path in the images folder, stretched to the given size.
+	 * @param path The path of the image, relative to the images folder.
+	 * @param width The width of the scaled image in pixels (at least 1).
+	 * @param height The height of the scaled image in pixels (at least 1).
+	 * @return The scaled image, or null if the image couldn't be loaded.
+	 */
+	public static BufferedImage getScaledImage(String path, int width, int height) {
+		width = Math.max(width, 1);
+		height = Math.max(height, 1);
+		ScaledKey key = new ScaledKey(path, width, height);
+		synchronized (AssetManager.class) {
+			BufferedImage scaled = scaledImages.get(key);
+			if (scaled != null) {
+				hits++;
+				return scaled;
+			}
+			misses++;
+		}
+
+		BufferedImage image = getImage(path);
+		if (image == null) {
+			return null;
+		}
+		BufferedImage scaled = Util.scaleImage(image, width, height, false);
+		synchronized (AssetManager.class) {
+			long bytes = bytesUsedBy(scaled);
+			if (bytes <= memoryBudget && !scaledImages.containsKey(key)) {
+				scaledImages.put(key, scaled);
+				scaledBytes += bytes;
+				trimToBudget();
+			}
+		}
+		return scaled;
+	}
+
+	/**
+	 * Returns the image at the given path in the images folder, scaled by the given factor to the same size that {@link Util#scaleImage(BufferedImage, double)} would make it
+	 * (which is a pixel wider and taller than the scaled size).
+	 * @return The scaled image, or null if the image couldn't be loaded.
+	 */
+	public static BufferedImage getScaledImage(String path, double scaleFactor) {
+		BufferedImage image = getImage(path);
+		if (image == null) {
+			return null;
+		}
+		return getScaledImage(path, (int) Math.round(image.getWidth() * scaleFactor) + 1, (int) Math.round(image.getHeight() * scaleFactor) + 1);
+	}
+
+	/**
+	 * Returns the font in the given file in the fonts folder, at the size it was created with (use {@link Font#deriveFont(float)} to change it), loading it the first time it is asked for.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(String filename) {
+		return getFont(AssetManager.class, filename);
+	}
+
+	/**
+	 * Returns the font in the given file in the fonts folder, looking it up as a resource of the given class the first time it is asked for.
+	 * Since the font is shared, the class is only used if the font hasn't been loaded yet.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(Class<?> resourceGrabber, String filename) {
+		synchronized (AssetManager.class) {
+			Font font = fonts.get(filename);
+			if (font != null) {
+				hits++;
+				return font;
+			}
+			misses++;
+		}
+
+		try (InputStream is = resourceGrabber.getResourceAsStream("/fonts/" + filename)) {
+			Font font = Font.createFont(Font.TRUETYPE_FONT, is);
+			synchronized (AssetManager.class) {
+				fonts.put(filename, font);
+			}
+			return font;
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.out.println("Unable to load font.");
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the sound in the given file in the audio folder, decoded into samples, loading it the first time it is asked for.
+	 * @return The sound, or null if it couldn't be loaded.
+	 */
+	public static Sound getSound(String filename) {
+		return getSound(AssetManager.class, filename);
+	}
+
+	/**
+	 * Returns the sound in the given file in the audio folder, decoded into samples, looking it up as a resource of the given class the first time it is asked for.
+	 * Since the sound is shared, the class is only used if the sound hasn't been loaded yet.
+	 * @return The sound, or null if it couldn't be loaded.
+	 */
+	public static Sound getSound(Class<?> resourceGrabber, String filename) {
+		synchronized (AssetManager.class) {
+			SoftReference<Sound> ref = sounds.get(filename);
+			Sound sound = ref != null ? ref.get() : null;
+			if (sound != null) {
+				hits++;
+				return sound;
+			}
+			misses++;
+		}
+
+		try (AudioInputStream stream = AudioSystem.getAudioInputStream(resourceGrabber.getResource("/audio/" + filename))) {
+			Sound sound = new Sound(stream.getFormat(), stream.readAllBytes());
+			synchronized (AssetManager.class) {
+				sounds.put(filename, new SoftReference<>(sound));
+			}
+			return sound;
+		} catch (Exception e) {
+			System.out.println("Unable to load audio file: " + filename);
+			e.printStackTrace();
+			return null;
+		}
+	}
+
+	/**
+	 * Starts loading every asset in the manifest in the background, in parallel. Anything that is asked for afterwards is taken from the cache once it has loaded.
+	 * @return The preloader, which can be used to check the progress or wait until everything has loaded.
+	 */
+	public static AssetPreloader preload(AssetManifest manifest) {
+		return new AssetPreloader(manifest);
+	}
+
+	private static long bytesUsedBy(BufferedImage image) {
+		return (long) image.getWidth() * image.getHeight() * 4;
+	}
+
+	/** Throws away the least recently used scaled images until they fit in the memory budget. Must be called while holding the lock. */
+	private static void trimToBudget() {
+		Iterator<BufferedImage> it = scaledImages.values().iterator();
+		while (scaledBytes > memoryBudget && it.hasNext()) {
+			scaledBytes -= bytesUsedBy(it.next());
+			it.remove();
+		}
+	}
+
+	/** Sets the most memory that scaled images can use, in bytes. Images are thrown away straight away if they use more than this. */
+	public static synchronized void setMemoryBudget(long bytes) {
+		memoryBudget = bytes;
+		trimToBudget();
+	}
+
+	public static synchronized long getMemoryBudget() {
+		return memoryBudget;
+	}
+
+	/** Returns the memory used by the cached scaled images, in bytes. */
+	public static synchronized long getScaledMemoryUsed() {
+		return scaledBytes;
+	}
+
+	/** Returns the number of times an image (scaled or not) was found in the cache. */
+	public static synchronized long getHits() {
+		return hits;
+	}
+
+	/** Returns the number of times an image (scaled or not) had to be loaded or scaled because it wasn't in the cache. */
+	public static synchronized long getMisses() {
+		return misses;
+	}
+
+	/** Resets the hit and miss counts to 0. */
+	public static synchronized void resetCounts() {
+		hits = 0;
+		misses = 0;
+	}
+
+	/** Throws away every cached image, font and sound. */
+	public static synchronized void clear() {
+		fonts.clear();
+		sounds.clear();
+		images.clear();
+		scaledImages.clear();
+		scaledBytes = 0;
+	}
+}
@@ -0,0 +1,64 @@
+package xyz.colintoft.cgraphics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A list of the images, fonts and sounds that a scene uses, so that they can all be loaded at once (and in parallel) before the scene is created.
+ * See {@link Scene#getAssets()} and {@link AssetManager#preload(AssetManifest)}. Adding the same asset twice only loads it once.
+ * @author Colin Toft
+ */
+public class AssetManifest {
+
+	private final List<String> images = new ArrayList<>();
+	private final List<String> fonts = new ArrayList<>();
+	private final List<String> sounds = new ArrayList<>();
+
+	/** Adds images, by their paths relative to the images folder. */
+	public AssetManifest addImages(String... paths) {
+		addAll(images, paths);
+		return this;
+	}
+
+	/** Adds fonts, by their file names in the fonts folder. */
+	public AssetManifest addFonts(String... filenames) {
+		addAll(fonts, filenames);
+		return this;
+	}
+
+	/** Adds sounds, by their file names in the audio folder. */
+	public AssetManifest addSounds(String... filenames) {
+		addAll(sounds, filenames);
+		return this;
+	}
+
+	private static void addAll(List<String> list, String[] names) {
+		for (String name: names) {
+			if (name != null && !list.contains(name)) {
+				list.add(name);
+			}
+		}
+	}
+
+	public List<String> getImages() {
+		return Collections.unmodifiableList(images);
+	}
+
+	public List<String> getFonts() {
+		return Collections.unmodifiableList(fonts);
+	}
+
+	public List<String> getSounds() {
+		return Collections.unmodifiableList(sounds);
+	}
+
+	/** Returns the number of assets in this manifest. */
+	public int size() {
+		return images.size() + fonts.size() + sounds.size();
+	}
+
+	public boolean isEmpty() {
+		return size() == 0;
+	}
+}
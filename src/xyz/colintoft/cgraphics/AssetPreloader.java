@@ -0,0 +1,83 @@
+package xyz.colintoft.cgraphics;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Loads every asset in an {@link AssetManifest} into the {@link AssetManager}'s caches in parallel, keeping track of how many have been loaded
+ * so that a loading screen can show the progress. Made with {@link AssetManager#preload(AssetManifest)}.
+ * The loading is done by a pool of background threads shared by every preloader, with one thread for each processor.
+ * @author Colin Toft
+ */
+public class AssetPreloader {
+
+	private static final ExecutorService workers = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+		Thread thread = new Thread(r, "Asset Loader");
+		thread.setDaemon(true); // Don't keep the game running if it is closed while loading
+		return thread;
+	});
+
+	private final int total;
+	private final AtomicInteger loaded = new AtomicInteger();
+	private final CountDownLatch done;
+
+	AssetPreloader(AssetManifest manifest) {
+		boolean loadSounds = Util.isAudioEnabled(); // Sounds are never played when audio is disabled, so there is no point loading them
+		total = manifest.getImages().size() + manifest.getFonts().size() + (loadSounds ? manifest.getSounds().size() : 0);
+		done = new CountDownLatch(total);
+
+		for (String path: manifest.getImages()) {
+			submit(() -> AssetManager.getImage(path));
+		}
+		for (String filename: manifest.getFonts()) {
+			submit(() -> AssetManager.getFont(filename));
+		}
+		if (loadSounds) {
+			for (String filename: manifest.getSounds()) {
+				submit(() -> AssetManager.getSound(filename));
+			}
+		}
+	}
+
+	private void submit(Runnable load) {
+		workers.execute(() -> {
+			try {
+				load.run();
+			} finally {
+				// An asset that failed to load still counts, so that loading always finishes (the failure is printed by the AssetManager)
+				loaded.incrementAndGet();
+				done.countDown();
+			}
+		});
+	}
+
+	/** Returns how much has been loaded, from 0 to 1. */
+	public double getProgress() {
+		return total == 0 ? 1 : (double) loaded.get() / total;
+	}
+
+	public int getLoadedCount() {
+		return loaded.get();
+	}
+
+	public int getTotalCount() {
+		return total;
+	}
+
+	public boolean isDone() {
+		return done.getCount() == 0;
+	}
+
+	/** Waits until everything has been loaded. */
+	public void await() throws InterruptedException {
+		done.await();
+	}
+
+	/** Waits until everything has been loaded or the given time has passed, and returns true if everything has been loaded. */
+	public boolean await(long timeoutMillis) throws InterruptedException {
+		return done.await(timeoutMillis, TimeUnit.MILLISECONDS);
+	}
+}
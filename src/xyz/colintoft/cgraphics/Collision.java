@@ -0,0 +1,69 @@
+package xyz.colintoft.cgraphics;
+
+/**
+ * Closed-form intersection tests between circles, rectangles and triangles.
+ * Every test returns true only if the two shapes overlap by a positive area, so shapes that only touch along an edge or at a point do not collide,
+ * which is the same as intersecting two {@link java.awt.geom.Area} objects and checking that the result is not empty.
+ * None of the methods allocate any objects, so they are safe to call many times per update.
+ * @author Colin Toft
+ */
+public class Collision {
+
+	private Collision() {}
+
+	/** Returns true if the circle with the given center and radius overlaps the other circle. */
+	public static boolean circleIntersectsCircle(double cx1, double cy1, double r1, double cx2, double cy2, double r2) {
+		double dx = cx2 - cx1, dy = cy2 - cy1;
+		double r = r1 + r2;
+		return dx * dx + dy * dy < r * r;
+	}
+
+	/** Returns true if the circle with the given center and radius overlaps the rectangle with the given top left corner, width and height. */
+	public static boolean circleIntersectsRect(double cx, double cy, double r, double x, double y, double width, double height) {
+		if (width <= 0 || height <= 0) {
+			return false;
+		}
+		// Find the point in the rectangle that is closest to the center of the circle
+		double closestX = Math.max(x, Math.min(cx, x + width));
+		double closestY = Math.max(y, Math.min(cy, y + height));
+		double dx = cx - closestX, dy = cy - closestY;
+		return dx * dx + dy * dy < r * r;
+	}
+
+	/** Returns true if the circle with the given center and radius overlaps the triangle with the given corners (in any order). */
+	public static boolean circleIntersectsTriangle(double cx, double cy, double r, double x1, double y1, double x2, double y2, double x3, double y3) {
+		if (pointInTriangle(cx, cy, x1, y1, x2, y2, x3, y3)) {
+			return true;
+		}
+		// The center is outside the triangle, so the circle overlaps it only if one of the edges passes closer to the center than the radius
+		double r2 = r * r;
+		return distanceToSegmentSquared(cx, cy, x1, y1, x2, y2) < r2
+			|| distanceToSegmentSquared(cx, cy, x2, y2, x3, y3) < r2
+			|| distanceToSegmentSquared(cx, cy, x3, y3, x1, y1) < r2;
+	}
+
+	/** Returns true if the point is inside the triangle or on one of its edges. */
+	public static boolean pointInTriangle(double px, double py, double x1, double y1, double x2, double y2, double x3, double y3) {
+		double d1 = cross(px, py, x1, y1, x2, y2);
+		double d2 = cross(px, py, x2, y2, x3, y3);
+		double d3 = cross(px, py, x3, y3, x1, y1);
+		boolean hasNegative = d1 < 0 || d2 < 0 || d3 < 0;
+		boolean hasPositive = d1 > 0 || d2 > 0 || d3 > 0;
+		return !(hasNegative && hasPositive);
+	}
+
+	/** Returns the squared distance from the point to the closest point on the line segment between (x1, y1) and (x2, y2). */
+	public static double distanceToSegmentSquared(double px, double py, double x1, double y1, double x2, double y2) {
+		double dx = x2 - x1, dy = y2 - y1;
+		double lengthSquared = dx * dx + dy * dy;
+		double t = lengthSquared == 0 ? 0 : ((px - x1) * dx + (py - y1) * dy) / lengthSquared;
+		t = Math.max(0, Math.min(1, t));
+		double ex = px - (x1 + t * dx), ey = py - (y1 + t * dy);
+		return ex * ex + ey * ey;
+	}
+
+	/** Returns which side of the line from (x1, y1) to (x2, y2) the point is on, as the z component of the cross product. */
+	private static double cross(double px, double py, double x1, double y1, double x2, double y2) {
+		return (px - x2) * (y1 - y2) - (x1 - x2) * (py - y2);
+	}
+}
@@ -0,0 +1,92 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A set of rectangles on the screen that have to be drawn again, used to redraw only the parts of a scene that changed.
+ * Rectangles are added as Drawables are found to have changed, then {@link #merge()} combines the ones that overlap so that no pixel is drawn twice.
+ * The rectangles are kept when they are removed or the region is cleared and used again for the next ones that are added, so a region that is reused every frame doesn't allocate.
+ * @author Colin Toft
+ */
+public class DirtyRegion {
+
+	/** How many pixels each rectangle is grown by when it is added, to cover antialiased edges and images that are drawn a pixel larger than their bounds. */
+	private static final int padding = 2;
+
+	private final List<Rectangle> rectangles = new ArrayList<>();
+	private final List<Rectangle> spare = new ArrayList<>(); // Rectangles that were removed, to be used again
+
+	/** Adds a rectangle (in pixels) to the region. Does nothing if the rectangle is null or empty. */
+	public void add(Rectangle r) {
+		if (r != null) {
+			add(r.x, r.y, r.width, r.height);
+		}
+	}
+
+	/** Adds a rectangle (in pixels) to the region. Does nothing if the rectangle is empty. */
+	public void add(int x, int y, int width, int height) {
+		if (width > 0 && height > 0) {
+			Rectangle r = spare.isEmpty() ? new Rectangle() : spare.remove(spare.size() - 1);
+			r.setBounds(x - padding, y - padding, width + 2 * padding, height + 2 * padding);
+			rectangles.add(r);
+		}
+	}
+
+	/** Replaces every group of overlapping rectangles with the one rectangle that contains them all, until no two rectangles overlap. */
+	public void merge() {
+		boolean merged;
+		do {
+			merged = false;
+			for (int i = 0; i < rectangles.size() && !merged; i++) {
+				Rectangle a = rectangles.get(i);
+				for (int j = i + 1; j < rectangles.size(); j++) {
+					Rectangle b = rectangles.get(j);
+					if (a.intersects(b)) {
+						a.add(b);
+						spare.add(rectangles.remove(j));
+						merged = true; // The bigger rectangle may now overlap ones that were already checked, so start again
+						break;
+					}
+				}
+			}
+		} while (merged);
+	}
+
+	/** Cuts off the parts of the rectangles that are outside of the given bounds (usually the window), and removes the ones that are completely outside. */
+	public void clipTo(Rectangle bounds) {
+		for (int i = rectangles.size() - 1; i >= 0; i--) {
+			Rectangle r = rectangles.get(i);
+			Rectangle2D.intersect(r, bounds, r);
+			if (r.isEmpty()) {
+				spare.add(rectangles.remove(i));
+			}
+		}
+	}
+
+	/** Returns the total area of the rectangles in pixels. Only exact once the region has been merged, since overlapping areas are counted twice. */
+	public long getArea() {
+		long area = 0;
+		for (int i = 0; i < rectangles.size(); i++) {
+			Rectangle r = rectangles.get(i);
+			area += (long) r.width * r.height;
+		}
+		return area;
+	}
+
+	public List<Rectangle> getRectangles() {
+		return rectangles;
+	}
+
+	public boolean isEmpty() {
+		return rectangles.isEmpty();
+	}
+
+	public void clear() {
+		for (int i = rectangles.size() - 1; i >= 0; i--) {
+			spare.add(rectangles.remove(i));
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Finds the font size that makes a piece of text fit between a minimum and maximum width and height, as used by {@link xyz.colintoft.cgraphics.components.DrawableText}.
+ * The size closest to the base font's size that meets every constraint is used, where sizes go from 0 up to a little more than the height of the parent panel.
+ * Each size is estimated from the text's metrics at the base size (text gets wider and taller in proportion to its size) and then corrected one size at a time,
+ * which usually takes one or two measurements instead of a binary search over every size. Results are cached, so laying out the same text again
+ * (for example when the window is resized back and forth) doesn't measure anything.
+ * @author Colin Toft
+ */
+public final class FontFitter {
+
+	/** The most results that are kept at once. */
+	public static final int maxCachedFits = 512;
+
+	/** A font size that was chosen for some text, with the size of the text in pixels at that font size. */
+	public static class Fit {
+		public final Font font; // The base font at the chosen size
+		public final int pixelWidth, pixelHeight; // The size of the text in pixels
+
+		Fit(Font font, int pixelWidth, int pixelHeight) {
+			this.font = font;
+			this.pixelWidth = pixelWidth;
+			this.pixelHeight = pixelHeight;
+		}
+	}
+
+	private static class FitKey {
+		final String text;
+		final Font baseFont;
+		final double minWidth, maxWidth, minHeight, maxHeight;
+		final int parentWidth, parentHeight;
+
+		FitKey(String text, Font baseFont, double minWidth, double maxWidth, double minHeight, double maxHeight, int parentWidth, int parentHeight) {
+			this.text = text;
+			this.baseFont = baseFont;
+			this.minWidth = minWidth;
+			this.maxWidth = maxWidth;
+			this.minHeight = minHeight;
+			this.maxHeight = maxHeight;
+			this.parentWidth = parentWidth;
+			this.parentHeight = parentHeight;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof FitKey)) {
+				return false;
+			}
+			FitKey k = (FitKey) o;
+			return text.equals(k.text) && baseFont.equals(k.baseFont) && minWidth == k.minWidth && maxWidth == k.maxWidth
+					&& minHeight == k.minHeight && maxHeight == k.maxHeight && parentWidth == k.parentWidth && parentHeight == k.parentHeight;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(text, baseFont, minWidth, maxWidth, minHeight, maxHeight, parentWidth, parentHeight);
+		}
+	}
+
+	/** The cached results, from least to most recently used (guarded by FontFitter.class). */
+	private static final Map<FitKey, Fit> fits = new LinkedHashMap<FitKey, Fit>(64, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<FitKey, Fit> eldest) {
+			return size() > maxCachedFits;
+		}
+	};
+
+	/** One graphics object that every measurement is made with, instead of a new blank image for each one (guarded by FontFitter.class). */
+	private static Graphics2D metricsGraphics;
+
+	private FontFitter() {}
+
+	/**
+	 * Returns the font size for the given text and constraints. The constraints are fractions of the parent's size, like the size of a Drawable.
+	 * @param text The text being fitted.
+	 * @param baseFont The font the text would use without any constraints.
+	 * @param minWidth The minimum width of the text, or 0 for no minimum.
+	 * @param maxWidth The maximum width of the text, or a negative number for no maximum.
+	 * @param minHeight The minimum height of the text, or 0 for no minimum.
+	 * @param maxHeight The maximum height of the text, or a negative number for no maximum.
+	 * @param parentWidth The width of the parent panel in pixels.
+	 * @param parentHeight The height of the parent panel in pixels.
+	 */
+	public static synchronized Fit fit(String text, Font baseFont, double minWidth, double maxWidth, double minHeight, double maxHeight, int parentWidth, int parentHeight) {
+		FitKey key = new FitKey(text, baseFont, minWidth, maxWidth, minHeight, maxHeight, parentWidth, parentHeight);
+		Fit fit = fits.get(key);
+		if (fit == null) {
+			fit = calculateFit(key);
+			fits.put(key, fit);
+		}
+		return fit;
+	}
+
+	/** Returns the metrics that text in the given font is measured with, so that text laid out some other way can be given the same size. */
+	public static synchronized FontMetrics getFontMetrics(Font font) {
+		return getMetricsGraphics().getFontMetrics(font);
+	}
+
+	private static Graphics2D getMetricsGraphics() {
+		if (metricsGraphics == null) {
+			metricsGraphics = Util.getEmptyImage(1, 1).createGraphics(); // Blank image to get font metrics
+		}
+		return metricsGraphics;
+	}
+
+	private static Fit calculateFit(FitKey k) {
+		getMetricsGraphics();
+		int baseSize = k.baseFont.getSize();
+		FontMetrics baseMetrics = metricsGraphics.getFontMetrics(k.baseFont);
+		int largest = k.parentHeight + 5; // No text is made larger than this
+
+		// How wide and tall the text is per unit of font size, used to guess each size before measuring it
+		double widthPerSize = baseSize > 0 ? (double) baseMetrics.stringWidth(k.text) / baseSize : 0;
+		double heightPerSize = baseSize > 0 ? (double) baseMetrics.getHeight() / baseSize : 0;
+
+		int lowBound = 0, highBound = Integer.MAX_VALUE;
+		if (k.minWidth > 0) {
+			lowBound = Math.max(lowBound, smallestSizeAtLeast(k, true, k.minWidth, widthPerSize, largest));
+		}
+		if (k.minHeight > 0) {
+			lowBound = Math.max(lowBound, smallestSizeAtLeast(k, false, k.minHeight, heightPerSize, largest));
+		}
+		if (k.maxWidth >= 0) {
+			highBound = Math.min(highBound, largestSizeAtMost(k, true, k.maxWidth, widthPerSize, largest));
+		}
+		if (k.maxHeight >= 0) {
+			highBound = Math.min(highBound, largestSizeAtMost(k, false, k.maxHeight, heightPerSize, largest));
+		}
+
+		int fontSize;
+		try {
+			fontSize = Util.constrain(baseSize, lowBound, highBound);
+		} catch (IllegalArgumentException e) {
+			System.out.println("Illegal width and height constraints on DrawableText object.");
+			fontSize = baseSize;
+		}
+
+		Font font = k.baseFont.deriveFont((float) fontSize);
+		FontMetrics metrics = metricsGraphics.getFontMetrics(font);
+		return new Fit(font, metrics.stringWidth(k.text), metrics.getHeight());
+	}
+
+	/** Returns the size of the text in the given font size as a fraction of the parent's width (or height if measuringWidth is false). */
+	private static double measure(FitKey k, boolean measuringWidth, int fontSize) {
+		FontMetrics metrics = metricsGraphics.getFontMetrics(k.baseFont.deriveFont((float) fontSize));
+		return measuringWidth ? (double) metrics.stringWidth(k.text) / k.parentWidth : (double) metrics.getHeight() / k.parentHeight;
+	}
+
+	/** Returns the smallest font size from 0 to largest at which the text is at least the given size, or largest if there isn't one. */
+	private static int smallestSizeAtLeast(FitKey k, boolean measuringWidth, double target, double pixelsPerSize, int largest) {
+		int parentSize = measuringWidth ? k.parentWidth : k.parentHeight;
+		int size = pixelsPerSize > 0 ? Util.constrain((int) Math.ceil(target * parentSize / pixelsPerSize), 0, largest) : largest;
+		if (measure(k, measuringWidth, size) >= target) {
+			while (size > 0 && measure(k, measuringWidth, size - 1) >= target) {
+				size--;
+			}
+		} else {
+			while (size < largest && measure(k, measuringWidth, size) < target) {
+				size++;
+			}
+		}
+		return size;
+	}
+
+	/** Returns the largest font size from 0 to largest at which the text is at most the given size, or 0 if there isn't one. */
+	private static int largestSizeAtMost(FitKey k, boolean measuringWidth, double target, double pixelsPerSize, int largest) {
+		int parentSize = measuringWidth ? k.parentWidth : k.parentHeight;
+		int size = pixelsPerSize > 0 ? Util.constrain((int) Math.floor(target * parentSize / pixelsPerSize), 0, largest) : largest;
+		if (measure(k, measuringWidth, size) <= target) {
+			while (size < largest && measure(k, measuringWidth, size + 1) <= target) {
+				size++;
+			}
+		} else {
+			while (size > 0 && measure(k, measuringWidth, size) > target) {
+				size--;
+			}
+		}
+		return size;
+	}
+
+	/** Removes every cached result. */
+	public static synchronized void clear() {
+		fits.clear();
+	}
+}
@@ -0,0 +1,126 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Font;
+import java.awt.GraphicsEnvironment;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Hands out the fonts in the fonts folder at any size, so that switching scenes doesn't read or register a font file again.
+ * Each file is parsed once (by the {@link AssetManager}, so a preloaded font is never parsed here) and registered with the graphics environment once,
+ * and every size that is asked for is derived once and then shared, up to {@link #maxCachedFonts} sizes, after which the least recently used are thrown away.
+ * @author Colin Toft
+ */
+public final class FontRegistry {
+
+	/** The most derived fonts that are kept at once. */
+	public static final int maxCachedFonts = 128;
+
+	private static class SizeKey {
+		final Font font;
+		final float size;
+
+		SizeKey(Font font, float size) {
+			this.font = font;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof SizeKey)) {
+				return false;
+			}
+			SizeKey k = (SizeKey) o;
+			return size == k.size && font.equals(k.font);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(font, size);
+		}
+	}
+
+	/** The font files that have been registered with the graphics environment (guarded by FontRegistry.class). */
+	private static final Set<String> registered = new HashSet<>();
+
+	/** The derived fonts, from least to most recently used (guarded by FontRegistry.class). */
+	private static final Map<SizeKey, Font> derived = new LinkedHashMap<SizeKey, Font>(32, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<SizeKey, Font> eldest) {
+			return size() > maxCachedFonts;
+		}
+	};
+
+	private FontRegistry() {}
+
+	/**
+	 * Returns the font in the given file in the fonts folder at its original size, registering it with the graphics environment the first time it is asked for.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(String filename) {
+		return getFont(AssetManager.class, filename);
+	}
+
+	/**
+	 * Returns the font in the given file in the fonts folder at its original size, looking it up as a resource of the given class if it hasn't been loaded yet.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(Class<?> resourceGrabber, String filename) {
+		Font font = AssetManager.getFont(resourceGrabber, filename);
+		if (font == null) {
+			return null;
+		}
+		synchronized (FontRegistry.class) {
+			if (registered.add(filename)) {
+				try {
+					GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+				} catch (Exception e) {
+					e.printStackTrace();
+					System.out.println("Unable to register font: " + filename);
+				}
+			}
+		}
+		return font;
+	}
+
+	/**
+	 * Returns the font in the given file in the fonts folder at the given size.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(String filename, float size) {
+		return getFont(AssetManager.class, filename, size);
+	}
+
+	/**
+	 * Returns the font in the given file in the fonts folder at the given size, looking it up as a resource of the given class if it hasn't been loaded yet.
+	 * @return The font, or null if it couldn't be loaded.
+	 */
+	public static Font getFont(Class<?> resourceGrabber, String filename, float size) {
+		Font font = getFont(resourceGrabber, filename);
+		return font != null ? deriveFont(font, size) : null;
+	}
+
+	/** Returns the given font at the given size, which is the same object every time the same font and size are asked for. */
+	public static synchronized Font deriveFont(Font font, float size) {
+		if (font.getSize2D() == size) {
+			return font;
+		}
+		SizeKey key = new SizeKey(font, size);
+		Font sized = derived.get(key);
+		if (sized == null) {
+			sized = font.deriveFont(size);
+			derived.put(key, sized);
+		}
+		return sized;
+	}
+
+	/** Throws away every derived font. Fonts stay registered, since the graphics environment can't unregister them. */
+	public static synchronized void clear() {
+		derived.clear();
+	}
+}
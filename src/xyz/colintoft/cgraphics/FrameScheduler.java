@@ -0,0 +1,142 @@
+package xyz.colintoft.cgraphics;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Keeps track of when the game loop should next update and draw the current scene, and puts the loop thread to sleep until then.
+ * Most of each wait is spent parked with {@link LockSupport#parkNanos(Object, long)}, and only the last moment before a deadline is spent spinning,
+ * since parking can wake up slightly late. The loop can also block completely (for example while the game is paused) until {@link #wake()} is called.
+ * All times are in nanoseconds, as returned by {@link System#nanoTime()}.
+ * @author Colin Toft
+ */
+public class FrameScheduler {
+
+	/** Waits that are shorter than this many nanoseconds are finished by spinning instead of parking. */
+	private long spinThreshold = 250000;
+
+	private long updateInterval, drawInterval;
+	private long nextUpdateTime, nextDrawTime;
+
+	private volatile Thread waitingThread = null;
+	private volatile boolean wakeRequested = false;
+	private volatile long lastWakeTime = 0;
+
+	public FrameScheduler(double updateFPS, double drawFPS) {
+		setUpdateFPS(updateFPS);
+		setDrawFPS(drawFPS);
+		reset(System.nanoTime());
+	}
+
+	public void setUpdateFPS(double fps) {
+		updateInterval = (long) (1000000000 / fps);
+	}
+
+	public void setDrawFPS(double fps) {
+		drawInterval = (long) (1000000000 / fps);
+	}
+
+	/** Sets how close to a deadline (in nanoseconds) the scheduler stops parking and starts spinning. */
+	public void setSpinThreshold(long nanos) {
+		spinThreshold = nanos;
+	}
+
+	/** Makes both the next update and the next draw due immediately. */
+	public void reset(long now) {
+		nextUpdateTime = now;
+		nextDrawTime = now;
+	}
+
+	/** Schedules the next update one update interval after the given time, for example after the game is resumed. */
+	public void resetUpdate(long now) {
+		nextUpdateTime = now + updateInterval;
+	}
+
+	public boolean isUpdateDue(long now) {
+		return now - nextUpdateTime >= 0;
+	}
+
+	public boolean isDrawDue(long now) {
+		return now - nextDrawTime >= 0;
+	}
+
+	/**
+	 * Schedules the next update after an update has finished.
+	 * @param updateTime The time the last update was run at
+	 * @param carriedTime Time that has already passed but has not been simulated yet (only used with a fixed timestep), which makes the next update due sooner
+	 */
+	public void updated(long updateTime, long carriedTime) {
+		nextUpdateTime = updateTime + updateInterval - carriedTime;
+	}
+
+	/** Schedules the next draw after a frame has been drawn. */
+	public void drawn(long drawTime) {
+		nextDrawTime = drawTime + drawInterval;
+	}
+
+	/** Forces the next frame to be drawn as soon as possible. */
+	public void requestDraw() {
+		nextDrawTime = System.nanoTime();
+	}
+
+	public long getNextUpdateTime() {
+		return nextUpdateTime;
+	}
+
+	public long getNextDrawTime() {
+		return nextDrawTime;
+	}
+
+	/**
+	 * Sleeps until the next draw is due, or until the next update is due as well if includeUpdate is true.
+	 * Returns early if {@link #wake()} is called.
+	 */
+	public void waitForNextFrame(boolean includeUpdate) {
+		long deadline = nextDrawTime;
+		if (includeUpdate && nextUpdateTime - deadline < 0) {
+			deadline = nextUpdateTime;
+		}
+		waitUntil(deadline);
+	}
+
+	/** Sleeps until the given time, or until {@link #wake()} is called. The thread is parked for as much of the wait as possible, then spins until the exact time. */
+	public void waitUntil(long deadline) {
+		waitingThread = Thread.currentThread();
+		while (!wakeRequested) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				break;
+			} else if (remaining > spinThreshold) {
+				LockSupport.parkNanos(this, remaining - spinThreshold);
+			} else {
+				Thread.onSpinWait();
+			}
+		}
+		waitingThread = null;
+		wakeRequested = false;
+	}
+
+	/** Blocks the calling thread without any time limit until {@link #wake()} is called. */
+	public void block() {
+		waitingThread = Thread.currentThread();
+		while (!wakeRequested) {
+			LockSupport.park(this);
+		}
+		waitingThread = null;
+		wakeRequested = false;
+	}
+
+	/** Wakes up the thread that is waiting in this scheduler, or makes its next wait return immediately if it is not currently waiting. Safe to call from any thread. */
+	public void wake() {
+		lastWakeTime = System.nanoTime();
+		wakeRequested = true;
+		Thread t = waitingThread;
+		if (t != null) {
+			LockSupport.unpark(t);
+		}
+	}
+
+	/** Returns the time that {@link #wake()} was last called at. */
+	public long getLastWakeTime() {
+		return lastWakeTime;
+	}
+}
@@ -2,16 +2,21 @@ package xyz.colintoft.cgraphics;
 
 import java.awt.*;
 import java.awt.event.*;
+import java.awt.geom.AffineTransform;
 import java.awt.image.BufferStrategy;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+import java.util.List;
 
 import javax.swing.*;
 import xyz.colintoft.cgraphics.components.Panel;
 
 /**
  * A class that handles window operations and manages Scenes to draw a Game to a Window.
+ * A Game can also run headless (with no window, no BufferStrategy and no audio), in which case it is driven by a {@link HeadlessRuntime}.
  * @author Colin Toft
  */
-public abstract class Game extends JFrame implements WindowListener {
+public abstract class Game implements WindowListener {
 	
 	/**
 	 * Called just after this object is instantiated, and before the window is made visible to the user. In this method you should:
@@ -25,83 +30,414 @@ public abstract class Game extends JFrame implements WindowListener {
 	
 	private Scene currentScene = null;
 	
+	/** The window that the game is drawn to, or null if the game is headless. */
+	private final GameFrame frame;
+	
 	private JPanel contentPane;
 	
+	/** The size of the game in pixels when it is headless and there is no window to measure. */
+	private int headlessWidth = 1280, headlessHeight = 720;
+	
+	// The listeners that receive input when the game is headless, since there is no window to register them with
+	private KeyListener headlessKeyListeners;
+	private MouseListener headlessMouseListeners;
+	
 	/** The amount of times per second that the draw() method of the current scene will be called. */
 	private double drawFPS = 60;
 	
 	/** The amount of times per second that the update() method of the current scene will be called. */
 	private double updateFPS = 60;
 	
-	private double lastUpdateTime, lastDrawTime;
+	/** The time (from {@link System#nanoTime()}) that the current scene was last updated at. */
+	private volatile long lastUpdateTime;
+	
+	/** Decides when the next update and draw should happen, and sleeps the game loop in between. */
+	private final FrameScheduler scheduler = new FrameScheduler(updateFPS, drawFPS);
+	
+	/** Whether the scene is drawn on its own thread instead of on the same thread that updates it. */
+	private boolean threadedRendering = false;
+	
+	/** Decides when the next frame should be drawn, and sleeps the render thread in between. Only used with threaded rendering. */
+	private final FrameScheduler renderScheduler = new FrameScheduler(updateFPS, drawFPS);
+	
+	/** Whether frames are skipped when nothing in the current scene has changed since the last frame was shown. */
+	private boolean skipUnchangedFrames = true;
+	
+	/** In partial repaint mode, the whole scene is drawn again when the area that changed is more than this fraction of the window. */
+	private double fullRepaintThreshold = 0.5;
+	
+	/** The retained image of the scene in partial repaint mode, which only has the parts that changed drawn again each frame. Kept in video memory when possible. */
+	private VolatileImage sceneImage;
+	/** Used instead of {@link #sceneImage} when there is no screen to accelerate it for. */
+	private BufferedImage softwareSceneImage;
+	/** The parts of the scene that changed since the last frame, reused every frame. */
+	private final DirtyRegion dirtyRegion = new DirtyRegion();
+	/** Reused every frame for the bounds of the window and to reset the transform while drawing in partial repaint mode. */
+	private final Rectangle windowBounds = new Rectangle();
+	private final AffineTransform identity = new AffineTransform();
+	
+	/** The size of the window's borders, kept up to date as the window changes since asking the window for them creates a new Insets every time. */
+	private volatile Insets insets = new Insets(0, 0, 0, 0);
+	
+	/** How long (in seconds) the game keeps drawing after something wakes it up while paused, before it blocks again. */
+	private final double pausedRedrawTime = 0.25;
+	
+	private volatile boolean iconified = false;
+	
+	/** Whether the scene is updated with a constant time step instead of the time elapsed since the last update. */
+	private boolean fixedTimestep = false;
+	
+	/** The amount of time (in seconds) that has passed but has not yet been simulated in fixed timestep mode. */
+	private volatile double accumulator = 0;
+	
+	/** The time (from {@link System#nanoTime()}) that the state of the scene after the update being run belongs to. Only used by the thread that updates the scene. */
+	private long updateTime;
+	
+	/** The largest amount of time (in seconds) that will be simulated at once in fixed timestep mode, so that a long stall does not cause a burst of updates. */
+	private final double maxFrameTime = 0.25;
 	
 	private boolean running;
-	private boolean paused = false;
+	/** The thread that draws the game while it is running (the game loop, or the render thread with threaded rendering), or null if it isn't running. */
+	private volatile Thread drawThread;
+	/** Loads the assets of the scene being loaded, which the loading screen shows the progress of. */
+	private volatile AssetPreloader assetPreloader;
+	/** The time between frames of the loading screen when it is drawn while waiting for assets to load, in milliseconds. */
+	private static final long loadingFrameTime = 16;
+	private volatile boolean paused = false;
 	private volatile boolean loadingScene = true;
 	private volatile boolean resizingScene = false;
 	private volatile boolean updating = false;
 	private volatile boolean drawing = false;
+	/** Held while the current scene is drawn, and taken by {@link #setScene(Scene)} before the old scene is disposed, so that a scene is never disposed while a frame of it is being drawn. */
+	private final Object renderLock = new Object();
 	
 	private boolean fullscreen = false;
 	private boolean changingFullscreen = false;
-	
-	private boolean buffersCreated = false;
 
+	/**
+	 * Creates the game, which is headless if there is no display or if the system property cgraphics.headless is set to true.
+	 */
 	public Game() {
-		setLocationRelativeTo(null);
-		setDefaultCloseOperation(DISPOSE_ON_CLOSE);
-		setVisible(true);
+		this(GraphicsEnvironment.isHeadless() || Boolean.getBoolean("cgraphics.headless"));
+	}
+	
+	/**
+	 * Creates the game, with a window unless headless is true.
+	 */
+	protected Game(boolean headless) {
+		if (headless) {
+			frame = null;
+			Util.setAudioEnabled(false);
+			init();
+			return;
+		}
+		
+		frame = new GameFrame();
+		frame.setLocationRelativeTo(null);
+		frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+		frame.addWindowListener(this);
+		
+		// Wake up the game loop whenever the user interacts with the window, since it may be blocked while the game is paused
+		frame.addKeyListener(new KeyAdapter() {
+			@Override
+			public void keyPressed(KeyEvent e) {
+				wakeLoop();
+			}
+			
+			@Override
+			public void keyReleased(KeyEvent e) {
+				wakeLoop();
+			}
+		});
+		frame.addMouseListener(new MouseAdapter() {
+			@Override
+			public void mousePressed(MouseEvent e) {
+				wakeLoop();
+			}
+			
+			@Override
+			public void mouseReleased(MouseEvent e) {
+				wakeLoop();
+			}
+		});
+		frame.addComponentListener(new ComponentAdapter() {
+			@Override
+			public void componentResized(ComponentEvent e) {
+				updateInsets();
+				wakeLoop();
+			}
+		});
+		
+		frame.setVisible(true);
 		init();
 	}
 	
+	/** The window that a Game with a display is drawn to. */
+	@SuppressWarnings("serial")
+	private class GameFrame extends JFrame {
+		
+		private boolean buffersCreated = false;
+		
+		@Override
+		public void addNotify() {
+	        super.addNotify();
+	        updateInsets(); // The borders are only known once the window is displayable
+	        
+	        do {
+	        	try {
+	            	createBufferStrategy(4);
+	            	buffersCreated = true;
+	        	} catch (IllegalStateException e) {}
+	        } while (!buffersCreated);
+	        
+	        try {
+	        	BufferStrategy strategy = getBufferStrategy();
+	    		Graphics g = (Graphics2D) strategy.getDrawGraphics();
+	    		
+	    		drawLoadingScreen(g);
+	    		
+	    		g.dispose();
+	    		strategy.show();
+	        } catch (IllegalStateException e) {}
+	    }
+		
+		@Override
+		public void dispose() {
+			super.dispose();
+			if (!changingFullscreen) {
+				exit();
+			}
+		}
+		
+		/** Disposes the window without exiting the game. */
+		private void close() {
+			super.dispose();
+		}
+		
+		/** Called when part of the window has to be painted again (for example after being covered), so the next frame is drawn even if nothing changed. */
+		@Override
+		public void paint(Graphics g) {
+			requestRedraw();
+		}
+	}
+	
 	private void updateScene(double dt) {
 		currentScene.update(dt);
 	}
 	
-	public void addNotify() {
-        super.addNotify();
-        
-        do {
-        	try {
-            	createBufferStrategy(4);
-            	buffersCreated = true;
-        	} catch (IllegalStateException e) {}
-        } while (!buffersCreated);
-        
-        try {
-        	BufferStrategy strategy = getBufferStrategy();
-    		Graphics g = (Graphics2D) strategy.getDrawGraphics();
-    		
-    		drawLoadingScreen(g);
-    		
-    		g.dispose();
-    		strategy.show();
-        } catch (IllegalStateException e) {}
-    }
+	/**
+	 * Adds the time elapsed since the last call to the accumulator and runs as many updates of exactly 1 / updateFPS seconds as fit in it.
+	 * The time that is left over after each update is how long ago the state after that update belongs to, which is what drawing is blended from (see {@link #getUpdateTime()}).
+	 */
+	private void updateFixedTimestep(long now) {
+		double step = 1 / this.updateFPS;
+		accumulator += Math.min((now - lastUpdateTime) / 1000000000.0, maxFrameTime);
+		lastUpdateTime = now;
+		
+		if (accumulator >= step) {
+			updating = true;
+			while (accumulator >= step && !loadingScene) {
+				accumulator -= step;
+				updateTime = now - (long) (accumulator * 1000000000);
+				updateScene(step);
+			}
+			updating = false;
+		}
+	}
 	
 	private void drawScene() {
-		if (!isDisplayable() || !buffersCreated) return; // Avoid errors where buffers have not yet been created
+		if (frame == null || !frame.isDisplayable() || !frame.buffersCreated) return; // Avoid errors where buffers have not yet been created
 		
 		if (currentScene != null && currentScene.hasParentPanel()) {
+			if (skipUnchangedFrames && !currentScene.isDirty()) {
+				return; // Nothing has changed, so the frame that is already on screen is still correct
+			}
 			try {
-				BufferStrategy strategy = getBufferStrategy();
+				BufferStrategy strategy = frame.getBufferStrategy();
+				do {
+					do {
+						Graphics g = (Graphics2D) strategy.getDrawGraphics();
+						renderScene(g);
+						g.dispose();
+					} while (strategy.contentsRestored()); // Draw again if the buffer was lost and restored while drawing
+					
+					strategy.show();
+				} while (strategy.contentsLost());
+			} catch (IllegalStateException e) {}
+		}
+	}
+	
+	/** Draws the current scene to the given graphics, either all of it or, if the scene uses partial repaint, only the parts that changed. */
+	private void renderScene(Graphics g) {
+		long allocationStart = RenderStats.frameStarted();
+		if (currentScene.usesPartialRepaint()) {
+			drawRetainedScene(g);
+		} else {
+			freeSceneImage();
+			currentScene.markClean(); // Before drawing, so that a change made while drawing is drawn in the next frame
+			g.clearRect(0, 0, getWidth(), getHeight());
+			currentScene.draw(g, insets);
+		}
+		RenderStats.frameDrawn(allocationStart);
+	}
+	
+	/** Updates the retained scene image used in partial repaint mode and copies it to the given graphics. */
+	private void drawRetainedScene(Graphics g) {
+		int w = getWidth(), h = getHeight();
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+		((Graphics2D) g).setComposite(AlphaComposite.Src); // The scene image covers the whole window, so copy it without blending
+		GraphicsConfiguration config = Util.getGraphicsConfiguration();
+		if (config == null) {
+			// No screen, so keep the scene in a normal image
+			boolean full = false;
+			if (softwareSceneImage == null || softwareSceneImage.getWidth() != w || softwareSceneImage.getHeight() != h) {
+				softwareSceneImage = Util.getEmptyImage(w, h, false); // Blends the same way as the images a headless game is drawn to
+				full = true;
+			}
+			repaintScene(softwareSceneImage, full);
+			g.drawImage(softwareSceneImage, 0, 0, null);
+			return;
+		}
+		
+		boolean full = false;
+		do {
+			if (sceneImage == null || sceneImage.getWidth() != w || sceneImage.getHeight() != h) {
+				freeSceneImage();
+				sceneImage = config.createCompatibleVolatileImage(w, h); // Opaque, since the scene covers all of it
+				full = true;
+			}
+			int status = sceneImage.validate(config);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				// The screen configuration changed, so the image has to be created again
+				freeSceneImage();
+				sceneImage = config.createCompatibleVolatileImage(w, h);
+				full = true;
+			} else if (status == VolatileImage.IMAGE_RESTORED) {
+				full = true; // The image is usable again, but what was drawn on it is gone
+			}
+			
+			repaintScene(sceneImage, full);
+			g.drawImage(sceneImage, 0, 0, null);
+			full = true; // If the contents were lost while drawing, everything has to be drawn again
+		} while (sceneImage.contentsLost());
+	}
+	
+	/**
+	 * Draws the parts of the current scene that changed since the last frame onto the retained scene image.
+	 * The whole scene is drawn instead if full is true or if the changed area is more than {@link #fullRepaintThreshold} of the window.
+	 */
+	private void repaintScene(Image sceneImage, boolean full) {
+		Insets insets = this.insets;
+		dirtyRegion.clear();
+		currentScene.collectDirtyRegions(dirtyRegion, insets.left, insets.top); // Always collected, since it records where everything is for the next frame
+		currentScene.markClean(); // Before drawing, so that a change made while drawing is drawn in the next frame
+		dirtyRegion.merge();
+		windowBounds.setBounds(0, 0, getWidth(), getHeight());
+		dirtyRegion.clipTo(windowBounds);
+		
+		if (!full && dirtyRegion.getArea() > fullRepaintThreshold * getWidth() * getHeight()) {
+			full = true;
+		}
+		if (!full && dirtyRegion.isEmpty()) {
+			return; // Only something hidden changed, so the retained image is still correct
+		}
+		
+		Graphics2D g = (Graphics2D) sceneImage.getGraphics();
+		if (full) {
+			g.clearRect(0, 0, getWidth(), getHeight());
+			currentScene.draw(g, insets);
+		} else {
+			// Draw each rectangle with a rectangular clip, which is much faster to draw through than one clip made of every rectangle
+			List<Rectangle> rectangles = dirtyRegion.getRectangles();
+			for (int i = 0; i < rectangles.size(); i++) {
+				Rectangle r = rectangles.get(i);
+				g.setTransform(identity);
+				g.setClip(r.x, r.y, r.width, r.height);
+				g.clearRect(r.x, r.y, r.width, r.height);
+				currentScene.draw(g, insets);
+			}
+		}
+		g.dispose();
+	}
+	
+	/** Releases the retained scene image used in partial repaint mode. */
+	private void freeSceneImage() {
+		if (sceneImage != null) {
+			sceneImage.flush();
+			sceneImage = null;
+		}
+		softwareSceneImage = null;
+	}
+	
+	/**
+	 * Draws the screen shown while a scene is loading. It is drawn again many times a second while loading, so it can be animated,
+	 * and {@link #getLoadingProgress()} tells how much of the scene's assets have been loaded.
+	 */
+	protected void drawLoadingScreen(Graphics g) {
+		g.setColor(Color.black);
+		g.fillRect(0, 0, getWidth(), getHeight());
+		g.setColor(Color.white);
+		int dots = (int) (System.nanoTime() / 400000000L % 4); // Count up to three dots and start again, so that the screen is visibly still working
+		g.drawString("Loading" + "...".substring(0, dots), getWidth() / 2, getHeight() / 2);
+		
+		// Draw a bar showing how much has loaded
+		int barWidth = getWidth() / 4, barHeight = 6;
+		int barX = (getWidth() - barWidth) / 2, barY = getHeight() / 2 + 12;
+		g.drawRect(barX, barY, barWidth, barHeight);
+		g.fillRect(barX, barY, (int) (barWidth * getLoadingProgress()), barHeight);
+	}
+	
+	/** Returns how much of the assets of the scene being loaded have been loaded, from 0 to 1. */
+	protected double getLoadingProgress() {
+		AssetPreloader preloader = assetPreloader;
+		return preloader == null ? 0 : preloader.getProgress();
+	}
+	
+	/** Draws the loading screen to the window straight away. */
+	private void showLoadingScreen() {
+		if (frame != null) {
+			try {
+				BufferStrategy strategy = frame.getBufferStrategy();
 				Graphics g = (Graphics2D) strategy.getDrawGraphics();
 				
-				g.clearRect(0, 0, getWidth(), getHeight());
+				drawLoadingScreen(g);
 				
-				currentScene.draw(g, getInsets());
 				g.dispose();
-			
 				strategy.show();
 			} catch (IllegalStateException e) {}
 		}
 	}
 	
-	protected void drawLoadingScreen(Graphics g) {
-		g.setColor(Color.black);
-		g.fillRect(0, 0, getWidth(), getHeight());
-		g.setColor(Color.white);
-		g.drawString("Loading...", getWidth() / 2, getHeight() / 2);
+	/**
+	 * Draws the current scene to the given Graphics object (used when the game is headless).
+	 */
+	void drawScene(Graphics g) {
+		synchronized (renderLock) {
+			if (currentScene != null && currentScene.hasParentPanel() && !loadingScene) {
+				drawing = true;
+				renderScene(g);
+				drawing = false;
+				return;
+			}
+		}
+		drawLoadingScreen(g);
+	}
+	
+	/**
+	 * Updates the current scene once with the given time step, unless it is paused or loading (used when the game is headless).
+	 * Returns true if the scene was updated.
+	 */
+	boolean updateHeadless(double dt) {
+		if (paused || loadingScene || resizingScene || currentScene == null) {
+			return false;
+		}
+		updating = true;
+		updateTime = System.nanoTime();
+		updateScene(dt);
+		updating = false;
+		return true;
 	}
 	
 	/**
@@ -113,26 +449,139 @@ public abstract class Game extends JFrame implements WindowListener {
 		
 	}
 	
-	@Override
+	/**
+	 * Sets the size of the window in pixels. When the game is headless, this is the virtual resolution that the scene is laid out and drawn at.
+	 */
 	public void setSize(int width, int height) {
-		super.setSize(width, height);
-		setPreferredSize(new Dimension(width, height));
+		if (frame == null) {
+			headlessWidth = width;
+			headlessHeight = height;
+			if (currentScene != null) {
+				currentScene.setDimensions(width, height);
+			}
+		} else {
+			frame.setSize(width, height);
+			frame.setPreferredSize(new Dimension(width, height));
+		}
+	}
+	
+	public void setTitle(String title) {
+		if (frame != null) {
+			frame.setTitle(title);
+		}
+	}
+	
+	public void setPreferredSize(Dimension size) {
+		if (frame != null) {
+			frame.setPreferredSize(size);
+		}
+	}
+	
+	public int getWidth() {
+		return frame == null ? headlessWidth : frame.getWidth();
+	}
+	
+	public int getHeight() {
+		return frame == null ? headlessHeight : frame.getHeight();
+	}
+	
+	public Insets getInsets() {
+		return (Insets) insets.clone();
+	}
+	
+	/** Stores the current size of the window's borders. Called whenever they may have changed. */
+	private void updateInsets() {
+		if (frame != null) {
+			Insets newInsets = frame.getInsets();
+			if (!newInsets.equals(insets) && currentScene != null) {
+				currentScene.invalidateGeometry(); // The scene's size doesn't include the borders, so everything in it has to be laid out again
+			}
+			insets = newInsets;
+		}
+	}
+	
+	/** Returns true if this game has no window, and is being driven by a {@link HeadlessRuntime}. */
+	public boolean isHeadless() {
+		return frame == null;
+	}
+	
+	/** Returns the window that the game is drawn to, or null if the game is headless. */
+	public JFrame getFrame() {
+		return frame;
+	}
+	
+	public void addKeyListener(KeyListener l) {
+		if (frame == null) {
+			headlessKeyListeners = AWTEventMulticaster.add(headlessKeyListeners, l);
+		} else {
+			frame.addKeyListener(l);
+		}
+	}
+	
+	public void removeKeyListener(KeyListener l) {
+		if (frame == null) {
+			headlessKeyListeners = AWTEventMulticaster.remove(headlessKeyListeners, l);
+		} else {
+			frame.removeKeyListener(l);
+		}
+	}
+	
+	public void addMouseListener(MouseListener l) {
+		if (frame == null) {
+			headlessMouseListeners = AWTEventMulticaster.add(headlessMouseListeners, l);
+		} else {
+			frame.addMouseListener(l);
+		}
+	}
+	
+	public void removeMouseListener(MouseListener l) {
+		if (frame == null) {
+			headlessMouseListeners = AWTEventMulticaster.remove(headlessMouseListeners, l);
+		} else {
+			frame.removeMouseListener(l);
+		}
+	}
+	
+	/** Sends a key event to everything listening for keys, in the same way the window would (used when the game is headless). */
+	void dispatchKeyEvent(KeyEvent e) {
+		KeyListener l = headlessKeyListeners;
+		if (l == null) return;
+		if (e.getID() == KeyEvent.KEY_PRESSED) {
+			l.keyPressed(e);
+		} else if (e.getID() == KeyEvent.KEY_RELEASED) {
+			l.keyReleased(e);
+		} else if (e.getID() == KeyEvent.KEY_TYPED) {
+			l.keyTyped(e);
+		}
+	}
+	
+	/** Sends a mouse event to everything listening for the mouse, in the same way the window would (used when the game is headless). */
+	void dispatchMouseEvent(MouseEvent e) {
+		MouseListener l = headlessMouseListeners;
+		if (l == null) return;
+		if (e.getID() == MouseEvent.MOUSE_PRESSED) {
+			l.mousePressed(e);
+		} else if (e.getID() == MouseEvent.MOUSE_RELEASED) {
+			l.mouseReleased(e);
+		} else if (e.getID() == MouseEvent.MOUSE_CLICKED) {
+			l.mouseClicked(e);
+		}
 	}
 	
 	public int leftInset() {
-		return getInsets().left;
+		return insets.left;
 	}
 	
 	public int rightInset() {
-		return getInsets().right;
+		return insets.right;
 	}
 	
 	public int topInset() {
-		return getInsets().top;
+		return insets.top;
 	}
 	
 	public int bottomInset() {
-		return getInsets().bottom;
+		return insets.bottom;
 	}
 	
 	/**
@@ -143,20 +592,24 @@ public abstract class Game extends JFrame implements WindowListener {
 	 */
 	protected void setFullscreen(boolean fullscreen) {
 		if (fullscreen != this.fullscreen) {
+			if (frame == null) {
+				this.fullscreen = fullscreen;
+				return;
+			}
 			changingFullscreen = true;
-			if (isDisplayable()) {
-				dispose();
+			if (frame.isDisplayable()) {
+				frame.dispose();
 			}
 			changingFullscreen = false;
 			this.fullscreen = fullscreen;
 			if (fullscreen) {
-				setExtendedState(MAXIMIZED_BOTH); 
-				setUndecorated(true);
+				frame.setExtendedState(JFrame.MAXIMIZED_BOTH); 
+				frame.setUndecorated(true);
 			} else {
-				setExtendedState(NORMAL);
-				setUndecorated(false);
+				frame.setExtendedState(JFrame.NORMAL);
+				frame.setUndecorated(false);
 			}
-			setVisible(true);
+			frame.setVisible(true);
 		}
 	}
 	
@@ -173,6 +626,8 @@ public abstract class Game extends JFrame implements WindowListener {
 	 */
 	protected void setDrawFPS(double fps) {
 		drawFPS = fps;
+		scheduler.setDrawFPS(fps);
+		renderScheduler.setDrawFPS(fps);
 	}
 	
 	/**
@@ -181,37 +636,139 @@ public abstract class Game extends JFrame implements WindowListener {
 	 */
 	protected void setUpdateFPS(double d) {
 		updateFPS = d;
+		scheduler.setUpdateFPS(d);
 	}
 	
-	public void setScene(Scene s) {
-		loadingScene = true;
+	public double getDrawFPS() {
+		return drawFPS;
+	}
+	
+	public double getUpdateFPS() {
+		return updateFPS;
+	}
+	
+	/**
+	 * Sets whether the scene is updated with a fixed timestep. When enabled, every call to update() receives exactly 1 / updateFPS seconds,
+	 * which makes the simulation identical no matter how fast the computer is. Drawables can use {@link Game#getInterpolation(long)} to draw
+	 * smoothly between updates when the draw FPS is higher than the update FPS.
+	 */
+	protected void setFixedTimestep(boolean fixedTimestep) {
+		this.fixedTimestep = fixedTimestep;
+		accumulator = 0;
+	}
+	
+	public boolean isFixedTimestep() {
+		return fixedTimestep;
+	}
+	
+	/**
+	 * Returns the time (from {@link System#nanoTime()}) that the state of the scene after the update being run belongs to. In fixed timestep mode this is
+	 * earlier than the time the update was run at by however much time is still waiting to be simulated. Must only be called while updating the scene.
+	 * A scene that publishes its state for drawing should publish this with it and pass it to {@link #getInterpolation(long)} when it draws that state.
+	 */
+	public long getUpdateTime() {
+		return updateTime;
+	}
+	
+	/**
+	 * Returns how far (from 0 to 1) the game is between the update whose state belongs to the given time (see {@link #getUpdateTime()}) and the next update.
+	 * This is always 1 when the game is not using a fixed timestep, and when it is headless, where time only passes when the game is updated.
+	 */
+	public double getInterpolation(long updateTime) {
+		if (!fixedTimestep || isHeadless()) {
+			return 1;
+		}
+		double alpha = (System.nanoTime() - updateTime) / 1000000000.0 * updateFPS;
+		return Math.max(0, Math.min(alpha, 1));
+	}
+	
+	/**
+	 * Sets whether the scene is drawn on a separate render thread. When enabled, the game loop thread only updates the scene,
+	 * so a slow frame can never delay an update. Scenes that are drawn this way must not let draw() see the state of an update that is
+	 * only half finished, for example by publishing their state through a {@link TripleBuffer}. This must be called before the game starts running.
+	 */
+	protected void setThreadedRendering(boolean threadedRendering) {
+		this.threadedRendering = threadedRendering;
+	}
+	
+	/** Loads the given assets in parallel and waits until they have loaded, keeping the loading screen moving if nothing else is drawing it. */
+	private void preloadAssets(AssetManifest assets) {
+		assetPreloader = null;
+		if (assets == null || assets.isEmpty()) {
+			return;
+		}
+		AssetPreloader preloader = AssetManager.preload(assets);
+		assetPreloader = preloader;
 		
-		if (currentScene != null) {
-			currentScene.dispose();
+		// The game loop draws the loading screen while a scene loads, unless it is the one loading it or it hasn't started yet (like when the first scene is set in init())
+		Thread drawer = drawThread;
+		boolean drawHere = frame != null && (drawer == null || drawer == Thread.currentThread());
+		try {
+			if (drawHere) {
+				while (!preloader.await(loadingFrameTime)) {
+					showLoadingScreen();
+				}
+			} else {
+				preloader.await();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt(); // Stop waiting, and let the scene load anything that is missing itself
 		}
+	}
+	
+	public boolean isThreadedRendering() {
+		return threadedRendering;
+	}
+	
+	public void setScene(Scene s) {
+		loadingScene = true;
+		disposeScene(); // No frame of the old scene is started after this, since loadingScene is set
 		
 		currentScene = s;
 		currentScene.setGame(this);
 		
-		contentPane = new JPanel();
-		contentPane.setPreferredSize(new Dimension(getWidth(), getHeight()));
-		contentPane.addComponentListener(currentScene);
-		setContentPane(contentPane);
+		if (frame != null) {
+			contentPane = new JPanel();
+			contentPane.setPreferredSize(new Dimension(getWidth(), getHeight()));
+			contentPane.addComponentListener(currentScene);
+			frame.setContentPane(contentPane);
+		}
 
+		preloadAssets(currentScene.getAssets());
 		currentScene.init();
 		loadingScene = false;
 		
-		pack();
+		if (frame != null) {
+			frame.pack();
+		}
 		
 		currentScene.start();
-		lastUpdateTime = System.nanoTime() / 1000000000.0;
+		lastUpdateTime = System.nanoTime();
+		scheduler.resetUpdate(lastUpdateTime);
+		accumulator = 0;
 		paused = false;
+		wakeLoop();
+	}
+	
+	/** Disposes the current scene (if there is one), waiting for the frame of it that is being drawn to finish first. */
+	private void disposeScene() {
+		synchronized (renderLock) {
+			if (currentScene != null) {
+				currentScene.dispose();
+			}
+		}
+	}
+	
+	/** Returns the scene that is currently being shown, or null if there isn't one yet. */
+	public Scene getScene() {
+		return currentScene;
 	}
 	
-	@Override
 	public void removeComponentListener(ComponentListener l) {
-		super.removeComponentListener(l);
-		contentPane.removeComponentListener(l);
+		if (frame != null) {
+			frame.removeComponentListener(l);
+			contentPane.removeComponentListener(l);
+		}
 	}
 	
 	public void run() {
@@ -220,36 +777,146 @@ public abstract class Game extends JFrame implements WindowListener {
 		running = true;
 		drawing = false;
 		updating = false;
+		drawThread = Thread.currentThread(); // Replaced by the render thread below with threaded rendering
+		
+		long now = System.nanoTime();
+		lastUpdateTime = now;
+		scheduler.reset(now);
+		
+		if (threadedRendering) {
+			renderScheduler.reset(now);
+			Thread renderThread = new Thread(this::runRenderLoop, "Render Thread");
+			renderThread.setDaemon(true);
+			drawThread = renderThread;
+			renderThread.start();
+			runUpdateLoop();
+			return;
+		}
 		
-		double now;
 		while (running) {
-			now = System.nanoTime() / 1000000000.0;
-            if (now - lastUpdateTime >= 1 / this.updateFPS && !paused && !loadingScene && !resizingScene) {
-            	double dt = now - lastUpdateTime;
-            	lastUpdateTime = now;
-            	updating = true;
-            	updateScene(dt);
-            	updating = false;
+			boolean canUpdate = !paused && !loadingScene && !resizingScene;
+			
+			now = System.nanoTime();
+            if (canUpdate && scheduler.isUpdateDue(now)) {
+            	runUpdate(now);
             } 
             
-			now = System.nanoTime() / 1000000000.0;
-            if (now - lastDrawTime >= 1 / this.drawFPS && !loadingScene && !resizingScene) {
-            	lastDrawTime = now;
-            	drawing = true;
+			now = System.nanoTime();
+            if (scheduler.isDrawDue(now)) {
+            	drawFrame(now, scheduler);
+            }
+            
+            if (shouldBlock(now, scheduler)) {
+            	// Nothing on screen can change until the window is restored or the user does something, so stop running the loop until then
+            	scheduler.block();
+            	scheduler.requestDraw();
+            } else {
+            	scheduler.waitForNextFrame(canUpdate);
+            }
+		}
+	}
+	
+	/** The game loop used with threaded rendering: only updates the scene, and leaves drawing to the render thread. */
+	private void runUpdateLoop() {
+		while (running) {
+			long now = System.nanoTime();
+			if (iconified || paused || loadingScene || resizingScene) {
+				// The scene can't be updated right now, so wait until something changes
+				scheduler.block();
+				continue;
+			}
+			
+			if (scheduler.isUpdateDue(now)) {
+				runUpdate(now);
+			}
+			scheduler.waitUntil(scheduler.getNextUpdateTime());
+		}
+	}
+	
+	/** The loop run by the render thread with threaded rendering: draws the scene at the draw FPS, independently of updates. */
+	private void runRenderLoop() {
+		while (running) {
+			long now = System.nanoTime();
+			if (renderScheduler.isDrawDue(now)) {
+				drawFrame(now, renderScheduler);
+			}
+			
+			if (shouldBlock(now, renderScheduler)) {
+				renderScheduler.block();
+				renderScheduler.requestDraw();
+			} else {
+				renderScheduler.waitUntil(renderScheduler.getNextDrawTime());
+			}
+		}
+	}
+	
+	/** Updates the current scene once (or as many times as needed in fixed timestep mode) and schedules the next update. */
+	private void runUpdate(long now) {
+		if (fixedTimestep) {
+			updateFixedTimestep(now);
+			scheduler.updated(now, (long) (accumulator * 1000000000));
+		} else {
+			double dt = (now - lastUpdateTime) / 1000000000.0;
+			lastUpdateTime = now;
+			updateTime = now;
+			updating = true;
+			updateScene(dt);
+			updating = false;
+			scheduler.updated(now, 0);
+		}
+	}
+	
+	/** Draws either the current scene or the loading screen, and schedules the next frame with the given scheduler. */
+	private void drawFrame(long now, FrameScheduler frameScheduler) {
+		boolean drawn = false;
+		synchronized (renderLock) {
+			if (!loadingScene && !resizingScene) { // Checked while holding the lock, so that the scene can't be disposed between here and drawing it
+				drawing = true;
 				drawScene();
 				drawing = false;
-            } else if (loadingScene) {
-            	try {
-            		BufferStrategy strategy = getBufferStrategy();
-            		Graphics g = (Graphics2D) strategy.getDrawGraphics();
-            		
-            		drawLoadingScreen(g);
-            		
-            		g.dispose();
-            		strategy.show();
-            	} catch (IllegalStateException e) {}
-            }
+				drawn = true;
+			}
+		}
+		if (drawn) {
+			frameScheduler.drawn(now);
+		} else if (loadingScene) {
+			showLoadingScreen();
+			frameScheduler.drawn(now);
+		}
+	}
+	
+	/** Returns true if nothing on screen can change until the window is restored or the user does something, meaning the loop using the given scheduler can block. */
+	private boolean shouldBlock(long now, FrameScheduler frameScheduler) {
+		return iconified || (paused && !loadingScene && now - frameScheduler.getLastWakeTime() > pausedRedrawTime * 1000000000);
+	}
+	
+	/** Makes sure the whole scene is drawn in the next frame, even if nothing in it has changed, and wakes up the game loop to draw it. */
+	public void requestRedraw() {
+		Scene scene = currentScene;
+		if (scene != null) {
+			scene.invalidate();
 		}
+		wakeLoop();
+	}
+	
+	/**
+	 * Sets whether frames are skipped when nothing in the current scene has changed since the last frame was shown (true by default).
+	 * Drawables that change how they look without calling {@link xyz.colintoft.cgraphics.components.Drawable#invalidate()} need this to be false, or need to be dynamic.
+	 */
+	public void setSkipUnchangedFrames(boolean skip) {
+		skipUnchangedFrames = skip;
+		requestRedraw();
+	}
+	
+	/** Sets the fraction of the window (from 0 to 1) that can change in one frame before a scene using partial repaint is drawn again completely (0.5 by default). */
+	public void setFullRepaintThreshold(double threshold) {
+		fullRepaintThreshold = threshold;
+	}
+	
+	/** Wakes up the game loop (and the render thread, if there is one), since they may be blocked while the game is paused or minimized. */
+	private void wakeLoop() {
+		scheduler.wake();
+		renderScheduler.wake();
 	}
 	
 	public boolean isPaused() {
@@ -270,6 +937,9 @@ public abstract class Game extends JFrame implements WindowListener {
 	
 	public void setResizingScene(boolean b) {
 		resizingScene = b;
+		if (!b) {
+			wakeLoop();
+		}
 	}
 	
 	public void onWindowClosing() {}
@@ -279,19 +949,23 @@ public abstract class Game extends JFrame implements WindowListener {
 	 */
 	public void exit() {
 		onWindowClosing();
-		if (currentScene != null) {
-			currentScene.dispose();
-		}
+		disposeScene();
 		running = false;
-		setVisible(false);
-		super.dispose();
+		if (frame == null) {
+			return; // A headless game is usually being run by another program, so don't stop it
+		}
+		frame.setVisible(false);
+		frame.close();
 		System.exit(0);
 	}
 	
-	@Override
+	/**
+	 * Closes the window and exits the game.
+	 */
 	public void dispose() {
-		super.dispose();
-		if (!changingFullscreen) {
+		if (frame != null) {
+			frame.dispose();
+		} else {
 			exit();
 		}
 	}
@@ -299,12 +973,16 @@ public abstract class Game extends JFrame implements WindowListener {
 	public void pauseGame() {
 		paused = true;
 		currentScene.onPause();
+		wakeLoop();
 	}
 	
 	public void resumeGame() {
 		paused = false;
 		currentScene.onResume();
-		lastUpdateTime = System.nanoTime() / 1000000000.0;
+		lastUpdateTime = System.nanoTime();
+		scheduler.resetUpdate(lastUpdateTime);
+		accumulator = 0;
+		wakeLoop();
 	}
 	
 	public void togglePaused() {
@@ -321,11 +999,22 @@ public abstract class Game extends JFrame implements WindowListener {
 
     public void windowClosed(WindowEvent e) {}
 
-    public void windowIconified(WindowEvent e) {}
+    public void windowIconified(WindowEvent e) {
+    	iconified = true;
+    }
 
-    public void windowDeiconified(WindowEvent e) {}
+    public void windowDeiconified(WindowEvent e) {
+    	iconified = false;
+    	// Don't count the time spent minimized as time that needs to be simulated
+    	lastUpdateTime = System.nanoTime();
+    	scheduler.resetUpdate(lastUpdateTime);
+    	accumulator = 0;
+    	requestRedraw();
+    }
 
-    public void windowActivated(WindowEvent e) {}
+    public void windowActivated(WindowEvent e) {
+    	requestRedraw();
+    }
 
     public void windowDeactivated(WindowEvent e) {}
 }
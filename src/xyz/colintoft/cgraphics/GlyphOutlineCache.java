@@ -0,0 +1,129 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Font;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.font.GlyphVector;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.GeneralPath;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A shared cache of the outlines of individual characters, so that the outline of a piece of text can be put together from outlines that were already made
+ * instead of laying out the whole string again every time it changes. This makes text that changes often, like a percentage or a counter, cheap to redraw.
+ * Outlines are cached by font (which includes its size), render context and code point. The least recently used outlines are thrown away once there are more than {@link #maxGlyphs}.
+ * Characters are placed one after another by their advances, without kerning or ligatures, so this is meant for simple left to right text.
+ * @author Colin Toft
+ */
+public final class GlyphOutlineCache {
+
+	/** The most outlines that are kept at once. */
+	public static final int maxGlyphs = 2048;
+
+	/** The outline of one character with its origin on the baseline at (0, 0), and how far along the next character starts. */
+	private static class Glyph {
+		final Shape outline;
+		final float advance;
+
+		Glyph(Shape outline, float advance) {
+			this.outline = outline;
+			this.advance = advance;
+		}
+	}
+
+	private static class GlyphKey {
+		final Font font;
+		final FontRenderContext frc;
+		final int codePoint;
+
+		GlyphKey(Font font, FontRenderContext frc, int codePoint) {
+			this.font = font;
+			this.frc = frc;
+			this.codePoint = codePoint;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (!(o instanceof GlyphKey)) {
+				return false;
+			}
+			GlyphKey k = (GlyphKey) o;
+			return codePoint == k.codePoint && font.equals(k.font) && frc.equals(k.frc);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(font, frc, codePoint);
+		}
+	}
+
+	/** The cached outlines, from least to most recently used (guarded by itself). */
+	private static final Map<GlyphKey, Glyph> glyphs = new LinkedHashMap<GlyphKey, Glyph>(256, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<GlyphKey, Glyph> eldest) {
+			return size() > maxGlyphs;
+		}
+	};
+
+	private GlyphOutlineCache() {}
+
+	/**
+	 * Returns the outline of the given text in the given font, with the start of its baseline at (0, 0).
+	 * @param text The text to get the outline of.
+	 * @param font The font to use, including its size.
+	 * @param frc The render context that the text will be drawn with, for example from {@link java.awt.Graphics2D#getFontRenderContext()}.
+	 */
+	public static Shape getOutline(String text, Font font, FontRenderContext frc) {
+		GeneralPath path = new GeneralPath();
+		AffineTransform position = new AffineTransform();
+		float x = 0;
+		for (int i = 0; i < text.length(); ) {
+			int codePoint = text.codePointAt(i);
+			Glyph glyph = getGlyph(font, frc, codePoint);
+			position.setToTranslation(x, 0);
+			path.append(glyph.outline.getPathIterator(position), false);
+			x += glyph.advance;
+			i += Character.charCount(codePoint);
+		}
+		return path;
+	}
+
+	/** Returns the outline of one character in the given font, with the start of its baseline at (0, 0). The returned shape is shared, so it must not be changed. */
+	public static Shape getGlyphOutline(Font font, FontRenderContext frc, int codePoint) {
+		return getGlyph(font, frc, codePoint).outline;
+	}
+
+	/** Returns how far along the baseline the character after the given one starts. */
+	public static float getAdvance(Font font, FontRenderContext frc, int codePoint) {
+		return getGlyph(font, frc, codePoint).advance;
+	}
+
+	private static Glyph getGlyph(Font font, FontRenderContext frc, int codePoint) {
+		GlyphKey key = new GlyphKey(font, frc, codePoint);
+		synchronized (glyphs) {
+			Glyph glyph = glyphs.get(key);
+			if (glyph != null) {
+				return glyph;
+			}
+		}
+
+		// Made outside of the lock, since laying out a glyph is slow and another thread making the same one at the same time does no harm
+		GlyphVector vector = font.createGlyphVector(frc, new String(Character.toChars(codePoint)));
+		Glyph glyph = new Glyph(vector.getGlyphOutline(0), (float) vector.getGlyphPosition(1).getX());
+		synchronized (glyphs) {
+			glyphs.put(key, glyph);
+		}
+		return glyph;
+	}
+
+	/** Removes every cached outline. */
+	public static void clear() {
+		synchronized (glyphs) {
+			glyphs.clear();
+		}
+	}
+}
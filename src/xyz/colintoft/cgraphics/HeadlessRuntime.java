@@ -0,0 +1,128 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Canvas;
+import java.awt.Component;
+import java.awt.Graphics2D;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Drives a headless {@link Game} (one with no window) from another program, for example to simulate many attempts at a level or to run benchmarks
+ * on a computer with no display. Time only passes when {@link #tick()} is called, so the simulation runs as fast as the computer allows and
+ * gives the same results every time. Frames can optionally be drawn to an offscreen image at the game's virtual resolution.
+ * @author Colin Toft
+ */
+public class HeadlessRuntime {
+
+	private final Game game;
+
+	/** The component that injected input events appear to come from, since there is no window. */
+	private final Component eventSource = new Canvas();
+
+	private BufferedImage frame;
+
+	/** The total amount of simulated time in seconds. */
+	private double time = 0;
+
+	private long ticks = 0;
+
+	/**
+	 * Creates a runtime for the given game, which must be headless, and calls its start() method.
+	 * @throws IllegalArgumentException If the game has a window
+	 */
+	public HeadlessRuntime(Game game) {
+		if (!game.isHeadless()) {
+			throw new IllegalArgumentException("HeadlessRuntime can only run a headless game");
+		}
+		this.game = game;
+		game.start();
+	}
+
+	public Game getGame() {
+		return game;
+	}
+
+	/** Sets the virtual resolution (in pixels) that the current scene is laid out and drawn at. */
+	public void setResolution(int width, int height) {
+		game.setSize(width, height);
+	}
+
+	/** Updates the current scene once, by one update step (1 / the game's update FPS). Returns true if the scene was updated, or false if the game is paused. */
+	public boolean tick() {
+		double dt = 1 / game.getUpdateFPS();
+		time += dt;
+		ticks++;
+		return game.updateHeadless(dt);
+	}
+
+	/** Updates the current scene the given number of times. */
+	public void tick(int count) {
+		for (int i = 0; i < count; i++) {
+			tick();
+		}
+	}
+
+	/** Updates the current scene for the given amount of simulated time, in seconds. */
+	public void runFor(double seconds) {
+		double end = time + seconds;
+		while (time < end) {
+			tick();
+		}
+	}
+
+	/**
+	 * Updates the current scene until the condition is true, or until the given amount of simulated time has passed.
+	 * Returns true if the condition became true.
+	 */
+	public boolean runUntil(BooleanSupplier condition, double maxSeconds) {
+		double end = time + maxSeconds;
+		while (!condition.getAsBoolean()) {
+			if (time >= end) {
+				return false;
+			}
+			tick();
+		}
+		return true;
+	}
+
+	/** Draws the current scene to an offscreen image at the game's virtual resolution and returns it. The same image is reused until the resolution changes. */
+	public BufferedImage render() {
+		int width = game.getWidth(), height = game.getHeight();
+		if (frame == null || frame.getWidth() != width || frame.getHeight() != height) {
+			frame = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+		}
+		Graphics2D g = frame.createGraphics();
+		game.drawScene(g);
+		g.dispose();
+		return frame;
+	}
+
+	public void pressKey(int keyCode) {
+		game.dispatchKeyEvent(new KeyEvent(eventSource, KeyEvent.KEY_PRESSED, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED));
+	}
+
+	public void releaseKey(int keyCode) {
+		game.dispatchKeyEvent(new KeyEvent(eventSource, KeyEvent.KEY_RELEASED, System.currentTimeMillis(), 0, keyCode, KeyEvent.CHAR_UNDEFINED));
+	}
+
+	/** Presses the given mouse button (for example {@link MouseEvent#BUTTON1}) at the given pixel coordinates. */
+	public void pressMouse(int x, int y, int button) {
+		game.dispatchMouseEvent(new MouseEvent(eventSource, MouseEvent.MOUSE_PRESSED, System.currentTimeMillis(), 0, x, y, 1, false, button));
+	}
+
+	public void releaseMouse(int x, int y, int button) {
+		game.dispatchMouseEvent(new MouseEvent(eventSource, MouseEvent.MOUSE_RELEASED, System.currentTimeMillis(), 0, x, y, 1, false, button));
+	}
+
+	/** Returns the total amount of simulated time in seconds. */
+	public double getTime() {
+		return time;
+	}
+
+	/** Returns the number of times {@link #tick()} has been called. */
+	public long getTicks() {
+		return ticks;
+	}
+}
@@ -0,0 +1,277 @@
+package xyz.colintoft.cgraphics;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.net.URL;
+
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioInputStream;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.LineUnavailableException;
+import javax.sound.sampled.SourceDataLine;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+/**
+ * Plays a long sound, like a song, by streaming it from its file instead of decoding all of it into memory first like a {@link javax.sound.sampled.Clip},
+ * so the memory it uses and the time it takes to open don't depend on how long the sound is. Made with {@link Util#getMusicPlayer(Class, String)}.
+ * Each player has its own thread that reads the file a chunk at a time into a small ring buffer and copies it from there into a {@link SourceDataLine}.
+ * The ring buffer is filled while the player is stopped too, so starting (or starting again from where it was stopped) doesn't wait for the file.
+ * Seeking and looping are done by the player's thread, so none of the methods here wait for the file either. Must be closed when it is no longer needed, which stops its thread.
+ * @author Colin Toft
+ */
+public class MusicPlayer {
+
+	/** How much sound the line holds, in seconds. This is the most that is still played after the player is stopped. */
+	private static final double lineSeconds = 0.2;
+
+	/** How much sound the ring buffer holds, in seconds. */
+	private static final double ringSeconds = 0.5;
+
+	private final String filename;
+	private final URL url;
+	private final int frameSize; // The number of bytes in each frame
+	private final SourceDataLine line;
+	private final long pollMillis; // How long the thread waits for room in the line when it is full
+
+	// Guarded by this
+	private boolean playing, looping, closed;
+	private long seekFrame = -1; // The frame to move to before playing anything else, or -1 if the player isn't being moved
+
+	// Only used by the player's thread
+	private AudioInputStream stream;
+	private boolean endOfStream;
+	private long streamBytes; // The number of bytes that have been read from the stream, counting from the start of the sound
+	private final byte[] ring;
+	private int ringStart, ringCount; // Where the oldest byte in the ring buffer is and how many bytes it holds
+
+	private volatile long ringFrame; // The frame of the sound that the first frame in the ring buffer is
+	private volatile long soundFrames = -1; // The length of the sound in frames, once it has been read to the end
+
+	MusicPlayer(Class<?> resourceGrabber, String filename) throws IOException, UnsupportedAudioFileException, LineUnavailableException {
+		this.filename = filename;
+		url = resourceGrabber.getResource("/audio/" + filename);
+		if (url == null) {
+			throw new FileNotFoundException("/audio/" + filename);
+		}
+		stream = openStream();
+		AudioFormat format = stream.getFormat();
+		frameSize = format.getFrameSize();
+
+		int lineBytes = Math.max(1, (int) (format.getFrameRate() * lineSeconds)) * frameSize;
+		line = AudioSystem.getSourceDataLine(format);
+		try {
+			line.open(format, lineBytes);
+		} catch (LineUnavailableException | RuntimeException e) {
+			stream.close();
+			throw e;
+		}
+		ring = new byte[Math.max(1, (int) (format.getFrameRate() * ringSeconds)) * frameSize]; // A whole number of frames, so that a frame never wraps around the end
+		pollMillis = Math.max(1, (long) (lineSeconds * 1000 / 8));
+
+		Thread thread = new Thread(this::run, "Music Player (" + filename + ")");
+		thread.setDaemon(true); // Don't keep the game running if it closes without closing this
+		thread.start();
+	}
+
+	/** Opens the sound from the start, converted to PCM if it is compressed, since a line can only play PCM. */
+	private AudioInputStream openStream() throws IOException, UnsupportedAudioFileException {
+		AudioInputStream in = AudioSystem.getAudioInputStream(url);
+		AudioFormat format = in.getFormat();
+		if (format.getEncoding() != AudioFormat.Encoding.PCM_SIGNED && format.getEncoding() != AudioFormat.Encoding.PCM_UNSIGNED) {
+			in = AudioSystem.getAudioInputStream(new AudioFormat(format.getSampleRate(), 16, format.getChannels(), true, false), in);
+		}
+		return in;
+	}
+
+	/** Starts playing from the current position. Plays to the end once, unless {@link #loop()} was called. */
+	public synchronized void start() {
+		if (!closed) {
+			playing = true;
+			line.start();
+			notifyAll();
+		}
+	}
+
+	/** Starts playing from the current position, going back to the start every time the end is reached, until the player is stopped. */
+	public synchronized void loop() {
+		looping = true;
+		start();
+	}
+
+	/** Stops playing (and looping), keeping the current position so that {@link #start()} or {@link #loop()} carries on from there. */
+	public synchronized void stop() {
+		playing = false;
+		looping = false;
+		line.stop();
+		notifyAll();
+	}
+
+	public synchronized boolean isRunning() {
+		return playing;
+	}
+
+	/** Moves to the given frame of the sound (where a frame is one sample for every channel), for example 0 to play it again from the start. */
+	public synchronized void setFramePosition(long frame) {
+		if (!closed) {
+			seekFrame = Math.max(0, frame);
+			line.flush(); // Throw away what was going to be played from the old position
+			notifyAll();
+		}
+	}
+
+	/** Returns the frame of the sound being played, which is only as accurate as the line reports how much it has left to play. */
+	public long getFramePosition() {
+		long frame = ringFrame - (line.getBufferSize() - line.available()) / frameSize;
+		long frames = soundFrames;
+		if (frame < 0 && frames > 0) {
+			frame += frames; // The line is still playing the end of the sound before it looped
+		}
+		return Math.max(frame, 0);
+	}
+
+	/** Stops playing and frees the line and the file. The player can't be used afterwards. */
+	public synchronized void close() {
+		closed = true;
+		playing = false;
+		line.stop();
+		notifyAll();
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				long seek;
+				boolean play, loop;
+				synchronized (this) {
+					// Wait until there is something to do
+					while (!closed && seekFrame < 0 && !canRead() && !(playing && ringCount >= frameSize)) {
+						if (playing && endOfStream && !looping && ringCount < frameSize) {
+							playing = false; // The end of the sound has been written, so it only has to finish playing out of the line
+						}
+						wait();
+					}
+					if (closed) {
+						return;
+					}
+					seek = seekFrame;
+					seekFrame = -1;
+					play = playing;
+					loop = looping;
+				}
+
+				if (seek >= 0) {
+					moveTo(seek);
+					continue;
+				}
+				if (canRead(loop)) {
+					read(loop);
+				}
+				if (play && ringCount >= frameSize && !write()) {
+					synchronized (this) {
+						wait(pollMillis); // The line is full, so wait for some of it to be played (or for the player to be stopped or moved)
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			// Stop playing
+		} catch (IOException | UnsupportedAudioFileException e) {
+			System.out.println("Unable to play audio file: " + filename);
+			e.printStackTrace();
+		} finally {
+			line.close();
+			try {
+				stream.close();
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	/** Returns true if there is room in the ring buffer and something left to read into it. Must be called while holding the lock. */
+	private boolean canRead() {
+		return canRead(looping);
+	}
+
+	private boolean canRead(boolean loop) {
+		return ringCount < ring.length && (!endOfStream || loop);
+	}
+
+	/** Reads as much of the sound as fits after the end of the ring buffer without wrapping, starting the sound again first if it has ended and is looping. */
+	private void read(boolean loop) throws IOException, UnsupportedAudioFileException {
+		if (endOfStream) {
+			if (!loop) {
+				return;
+			}
+			// Carry on from the start of the sound, after the end that is still in the ring buffer
+			stream.close();
+			stream = openStream();
+			streamBytes = 0;
+			endOfStream = false;
+		}
+		int end = (ringStart + ringCount) % ring.length;
+		int n = stream.read(ring, end, Math.min(ring.length - ringCount, ring.length - end));
+		if (n < 0) {
+			endOfStream = true;
+			soundFrames = streamBytes / frameSize;
+			ringCount -= ringCount % frameSize; // Throw away a half frame at the end of the file, if there is one
+		} else {
+			ringCount += n;
+			streamBytes += n;
+		}
+	}
+
+	/** Copies as much of the ring buffer into the line as it has room for without waiting, and returns false if it had no room. */
+	private boolean write() {
+		int length = Math.min(Math.min(ringCount, ring.length - ringStart), line.available());
+		length -= length % frameSize;
+		if (length == 0) {
+			return false;
+		}
+		int n = line.write(ring, ringStart, length);
+		n -= n % frameSize;
+		ringStart = (ringStart + n) % ring.length;
+		ringCount -= n;
+
+		long frame = ringFrame + n / frameSize;
+		long frames = soundFrames;
+		if (frames > 0 && frame >= frames) {
+			frame -= frames; // Written past the end of a looping sound into its start
+		}
+		ringFrame = frame;
+		return true;
+	}
+
+	/** Moves to the given frame, keeping what is already in the ring buffer if the frame is in it. */
+	private void moveTo(long frame) throws IOException, UnsupportedAudioFileException {
+		line.flush(); // Anything written since the player was moved is from the old position too
+		long ringEnd = ringFrame + ringCount / frameSize;
+		if (frame >= ringFrame && frame < ringEnd && streamBytes / frameSize == ringEnd) { // Only while the ring buffer hasn't wrapped around the end of a looping sound
+			int skip = (int) (frame - ringFrame) * frameSize;
+			ringStart = (ringStart + skip) % ring.length;
+			ringCount -= skip;
+			ringFrame = frame;
+			return;
+		}
+		reopen(frame);
+	}
+
+	/** Throws away the ring buffer and opens the sound again at the given frame. */
+	private void reopen(long frame) throws IOException, UnsupportedAudioFileException {
+		stream.close();
+		stream = openStream();
+		endOfStream = false;
+		ringStart = 0;
+		ringCount = 0;
+		streamBytes = 0;
+		long skip = frame * frameSize;
+		while (skip > 0) {
+			long n = stream.skip(skip);
+			if (n <= 0) {
+				break; // Past the end of the sound
+			}
+			skip -= n;
+			streamBytes += n;
+		}
+		ringFrame = streamBytes / frameSize;
+	}
+}
@@ -0,0 +1,95 @@
+package xyz.colintoft.cgraphics;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * Counts how much memory is allocated while the game draws its frames, so that drawing code that is meant to run without allocating can be checked,
+ * for example by a test that draws a few frames of a scene and asserts that {@link #getLastFrameAllocatedBytes()} is 0.
+ * Counting is off by default, since reading the allocation counter takes a little time on every frame. It uses the JVM's per thread allocation counter,
+ * so it only works on JVMs that have one (see {@link #isSupported()}).
+ * @author Colin Toft
+ */
+public final class RenderStats {
+
+	private static final ThreadMXBean threads = findThreadBean();
+
+	private static volatile boolean enabled = false;
+	private static long overhead; // The bytes that reading the counter allocates by itself, which are not counted
+
+	private static volatile long lastFrameBytes, totalBytes, frames;
+
+	private RenderStats() {}
+
+	private static ThreadMXBean findThreadBean() {
+		try {
+			ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+			return bean.isThreadAllocatedMemorySupported() ? bean : null;
+		} catch (ClassCastException | UnsupportedOperationException e) {
+			return null;
+		}
+	}
+
+	/** Returns true if this JVM can count allocated memory. */
+	public static boolean isSupported() {
+		return threads != null;
+	}
+
+	/** Starts or stops counting. Does nothing if counting isn't supported. Starting also resets the counts. */
+	public static void setEnabled(boolean enabled) {
+		if (enabled && isSupported()) {
+			threads.setThreadAllocatedMemoryEnabled(true);
+			// Measure how much reading the counter allocates when nothing else happens in between
+			long start = allocatedBytes();
+			overhead = allocatedBytes() - start;
+			reset();
+		}
+		RenderStats.enabled = enabled && isSupported();
+	}
+
+	public static boolean isEnabled() {
+		return enabled;
+	}
+
+	/** Resets the counts to 0. */
+	public static void reset() {
+		lastFrameBytes = 0;
+		totalBytes = 0;
+		frames = 0;
+	}
+
+	/** Called just before a frame is drawn. Returns the value to pass to {@link #frameDrawn(long)}. */
+	static long frameStarted() {
+		return enabled ? allocatedBytes() : 0;
+	}
+
+	/** Called just after a frame is drawn, with the value returned by {@link #frameStarted()}. */
+	static void frameDrawn(long start) {
+		if (enabled) {
+			long bytes = Math.max(0, allocatedBytes() - start - overhead);
+			lastFrameBytes = bytes;
+			totalBytes += bytes;
+			frames++;
+		}
+	}
+
+	private static long allocatedBytes() {
+		return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/** Returns the number of bytes allocated while drawing the last frame. */
+	public static long getLastFrameAllocatedBytes() {
+		return lastFrameBytes;
+	}
+
+	/** Returns the number of bytes allocated while drawing every frame since counting was started or reset. */
+	public static long getTotalAllocatedBytes() {
+		return totalBytes;
+	}
+
+	/** Returns the number of frames drawn since counting was started or reset. */
+	public static long getFrameCount() {
+		return frames;
+	}
+}
@@ -0,0 +1,56 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+
+/**
+ * Holds copies of an image pre-rendered at a fixed number of evenly spaced rotations, so that a spinning sprite can be drawn by
+ * blitting the nearest frame instead of rotating and filtering the image on every draw.
+ * Each frame is the same size as the original image and is rotated about its center, so any part of the image that would be rotated
+ * outside of its bounds is cut off. Images that need to rotate freely should have transparent padding around them.
+ * @author Colin Toft
+ */
+public class RotationSpriteCache {
+
+	private final BufferedImage[] frames;
+	private final double step; // The angle between frames in radians
+
+	/** Pre-renders the image at the given number of rotations, evenly spaced around a full turn. */
+	public RotationSpriteCache(BufferedImage image, int frameCount) {
+		if (frameCount < 1) {
+			throw new IllegalArgumentException("frameCount must be at least 1");
+		}
+		frames = new BufferedImage[frameCount];
+		step = 2 * Math.PI / frameCount;
+
+		int width = image.getWidth(), height = image.getHeight();
+		for (int i = 0; i < frameCount; i++) {
+			BufferedImage frame = Util.getEmptyImage(width, height, false);
+			Graphics2D g = frame.createGraphics();
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			g.rotate(i * step, width / 2.0, height / 2.0);
+			g.drawImage(image, 0, 0, null);
+			g.dispose();
+			frames[i] = frame;
+		}
+	}
+
+	/** Returns the pre-rendered frame closest to the given rotation in radians (clockwise, any value). */
+	public BufferedImage get(double angle) {
+		int index = (int) Math.round(angle / step) % frames.length;
+		if (index < 0) {
+			index += frames.length;
+		}
+		return frames[index];
+	}
+
+	/** Draws the frame closest to the given rotation with its top left corner at (x, y), where the unrotated image would be drawn. */
+	public void draw(Graphics2D g, double angle, int x, int y) {
+		g.drawImage(get(angle), x, y, null);
+	}
+
+	public int getFrameCount() {
+		return frames.length;
+	}
+}
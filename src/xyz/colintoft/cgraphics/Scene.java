@@ -18,6 +18,9 @@ public class Scene extends Panel implements KeyListener, MouseListener, Componen
 	
 	protected int pixelWidth, pixelHeight;
 	
+	/** Whether only the parts of this scene that changed are drawn again each frame. */
+	private boolean partialRepaint = false;
+	
 	public Scene() {
 		super();
 		setBackground(Color.BLACK); // Black background by default
@@ -34,6 +37,29 @@ public class Scene extends Panel implements KeyListener, MouseListener, Componen
 		setDimensions(g.getWidth(), g.getHeight());
 	}
 	
+	/**
+	 * Sets whether only the parts of this scene that changed are drawn again each frame, instead of the whole scene (false by default).
+	 * This is much faster for scenes where little changes at once, such as menus, but slightly slower for scenes that change completely every frame.
+	 * @author Colin Toft
+	 */
+	public void setPartialRepaint(boolean partialRepaint) {
+		this.partialRepaint = partialRepaint;
+		invalidate();
+	}
+	
+	public boolean usesPartialRepaint() {
+		return partialRepaint;
+	}
+	
+	/**
+	 * Returns the images, fonts and sounds that this scene uses. They are loaded in parallel while the loading screen is shown, before {@link #init()} is called,
+	 * so that init() finds them already loaded. By default a scene declares no assets, and anything it uses is loaded when it is first asked for.
+	 * @author Colin Toft
+	 */
+	public AssetManifest getAssets() {
+		return new AssetManifest();
+	}
+	
 	@Override
 	public Game getGame() {
 		return game;
@@ -63,6 +89,7 @@ public class Scene extends Panel implements KeyListener, MouseListener, Componen
 		game.removeComponentListener(this);
 		game.removeKeyListener(this);
 		game.removeMouseListener(this);
+		super.dispose(); // Game only disposes a scene once no frame of it is being drawn
 	}
 	
 	/**
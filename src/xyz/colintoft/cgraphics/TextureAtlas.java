@@ -0,0 +1,110 @@
+package xyz.colintoft.cgraphics;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Packs many small images into a single image, so that they can all be drawn from one surface instead of switching between dozens of them.
+ * Images are added with {@link #add(BufferedImage)}, which returns the index used to draw them, and are packed when {@link #build()} is called.
+ * Each image is copied pixel for pixel into its own region of the atlas, with a one pixel gap between regions so that neighboring images never bleed into each other.
+ * @author Colin Toft
+ */
+public class TextureAtlas {
+
+	private static final int padding = 1;
+
+	private List<BufferedImage> pending = new ArrayList<>(); // The images added since the atlas was created, until it is built
+	private BufferedImage atlas;
+	private int[] regionX, regionY, regionWidth, regionHeight; // The location of each image in the atlas, indexed by the value returned from add()
+
+	/** Adds an image to the atlas and returns its index. Must be called before {@link #build()}. */
+	public int add(BufferedImage image) {
+		if (pending == null) {
+			throw new IllegalStateException("Images can't be added after the atlas has been built");
+		}
+		pending.add(image);
+		return pending.size() - 1;
+	}
+
+	/** Packs every added image into the atlas, placing the tallest images first in rows that are roughly as wide as the atlas is tall. */
+	public void build() {
+		if (pending == null) {
+			throw new IllegalStateException("The atlas has already been built");
+		}
+		int count = pending.size();
+		regionX = new int[count];
+		regionY = new int[count];
+		regionWidth = new int[count];
+		regionHeight = new int[count];
+
+		// Aim for a roughly square atlas
+		long area = 0;
+		int widest = 1;
+		for (BufferedImage image: pending) {
+			area += (long) (image.getWidth() + padding) * (image.getHeight() + padding);
+			widest = Math.max(widest, image.getWidth() + padding);
+		}
+		int maxRowWidth = Math.max(widest, (int) Math.ceil(Math.sqrt(area)));
+
+		// Place the images in rows from tallest to shortest, so each row wastes as little height as possible
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparingInt((Integer i) -> pending.get(i).getHeight()).reversed());
+
+		int x = 0, y = 0, rowHeight = 0, atlasWidth = 1;
+		for (int i: order) {
+			BufferedImage image = pending.get(i);
+			if (x > 0 && x + image.getWidth() > maxRowWidth) {
+				// Start a new row
+				x = 0;
+				y += rowHeight + padding;
+				rowHeight = 0;
+			}
+			regionX[i] = x;
+			regionY[i] = y;
+			regionWidth[i] = image.getWidth();
+			regionHeight[i] = image.getHeight();
+			x += image.getWidth() + padding;
+			rowHeight = Math.max(rowHeight, image.getHeight());
+			atlasWidth = Math.max(atlasWidth, x);
+		}
+		int atlasHeight = Math.max(1, y + rowHeight);
+
+		// Copy the images into their regions, replacing the transparent pixels of the atlas exactly
+		atlas = Util.getEmptyImage(atlasWidth, atlasHeight, false);
+		Graphics2D g = atlas.createGraphics();
+		g.setComposite(AlphaComposite.Src);
+		for (int i = 0; i < count; i++) {
+			g.drawImage(pending.get(i), regionX[i], regionY[i], null);
+		}
+		g.dispose();
+		pending = null;
+	}
+
+	/** Draws the image with the given index with its top left corner at (x, y). */
+	public void draw(Graphics g, int index, int x, int y) {
+		int sx = regionX[index], sy = regionY[index], w = regionWidth[index], h = regionHeight[index];
+		g.drawImage(atlas, x, y, x + w, y + h, sx, sy, sx + w, sy + h, null);
+	}
+
+	public int getWidth(int index) {
+		return regionWidth[index];
+	}
+
+	public int getHeight(int index) {
+		return regionHeight[index];
+	}
+
+	/** Returns the image that every added image was packed into, or null if the atlas has not been built yet. */
+	public BufferedImage getImage() {
+		return atlas;
+	}
+}
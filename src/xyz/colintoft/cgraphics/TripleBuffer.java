@@ -0,0 +1,51 @@
+package xyz.colintoft.cgraphics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * A lock-free triple buffer that lets one thread publish state for another thread to read without either of them ever waiting.
+ * The writer fills in the object returned by {@link #getWriteBuffer()} and then calls {@link #publish()}. The reader calls {@link #read()}
+ * to get the most recently published object, which will not be modified by the writer until the reader has moved on to a newer one.
+ * There must only be one writing thread and one reading thread (they may be the same thread).
+ * @author Colin Toft
+ */
+public class TripleBuffer<T> {
+
+	private static final int indexMask = 3;
+	private static final int freshBit = 4;
+
+	private final Object[] buffers = new Object[3];
+
+	/** The index of the buffer between the writer and the reader, with the fresh bit set if it has been published but not read yet. */
+	private final AtomicInteger middle = new AtomicInteger(1);
+
+	private int writeIndex = 0; // Only used by the writing thread
+	private int readIndex = 2; // Only used by the reading thread
+
+	public TripleBuffer(Supplier<T> factory) {
+		for (int i = 0; i < buffers.length; i++) {
+			buffers[i] = factory.get();
+		}
+	}
+
+	/** Returns the object that the writer should fill in before calling {@link #publish()}. */
+	@SuppressWarnings("unchecked")
+	public T getWriteBuffer() {
+		return (T) buffers[writeIndex];
+	}
+
+	/** Makes the write buffer available to the reader, and gives the writer a different buffer to fill in next time. */
+	public void publish() {
+		writeIndex = middle.getAndSet(writeIndex | freshBit) & indexMask;
+	}
+
+	/** Returns the most recently published object. The returned object will not change until the next call to this method. */
+	@SuppressWarnings("unchecked")
+	public T read() {
+		if ((middle.get() & freshBit) != 0) {
+			readIndex = middle.getAndSet(readIndex) & indexMask;
+		}
+		return (T) buffers[readIndex];
+	}
+}
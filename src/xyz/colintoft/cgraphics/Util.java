@@ -8,6 +8,7 @@ import java.awt.GraphicsDevice;
 import java.awt.GraphicsEnvironment;
 import java.awt.Transparency;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileNotFoundException;
@@ -30,19 +31,11 @@ public class Util {
 	private static GraphicsEnvironment env;
     private static GraphicsDevice device;
     private static GraphicsConfiguration config;
+    
+    private static boolean audioEnabled = true;
 	
-	public static Font loadFontFromFile(Class resourceGrabber, String filename, float size) {
-		InputStream is = resourceGrabber.getResourceAsStream("/fonts/" + filename);
-		try {
-			Font f = Font.createFont(Font.TRUETYPE_FONT, is);
-			GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-			ge.registerFont(f);
-			return f.deriveFont(size);
-		} catch (Exception e) {
-			e.printStackTrace();
-			System.out.println("Unable to load font.");
-			return null;
-		}
+	public static Font loadFontFromFile(Class<?> resourceGrabber, String filename, float size) {
+		return FontRegistry.getFont(resourceGrabber, filename, size); // Only read and registered the first time, and each size is only made once
 	}
 	
 	public static BufferedImage loadImageFromFile(Class resourceGrabber, String filename) {
@@ -56,11 +49,27 @@ public class Util {
 		}
 	}
 	
-	public static Clip getAudioClip(Class resourceGrabber, String filename) {
+	/** Sets whether audio clips should be loaded. When audio is disabled (for example in a headless game), {@link #getAudioClip(Class, String)} always returns null. */
+	public static void setAudioEnabled(boolean enabled) {
+		audioEnabled = enabled;
+	}
+	
+	public static boolean isAudioEnabled() {
+		return audioEnabled;
+	}
+	
+	/** Returns a new clip of the given sound in the audio folder, which is looked up as a resource of the given class the first time it is loaded. Returns null if audio is disabled or the sound can't be loaded. */
+	public static Clip getAudioClip(Class<?> resourceGrabber, String filename) {
+		if (!audioEnabled) {
+			return null;
+		}
+		AssetManager.Sound sound = AssetManager.getSound(resourceGrabber, filename); // Only decoded the first time
+		if (sound == null) {
+			return null;
+		}
 		try {
-			AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(resourceGrabber.getResource("/audio/" + filename));
 			Clip clip = AudioSystem.getClip();
-			clip.open(audioInputStream);
+			clip.open(sound.format, sound.data, 0, sound.data.length);
 			return clip;
 		} catch(Exception e) {
 			System.out.println("Unable to load audio file: " + filename);
@@ -69,6 +78,23 @@ public class Util {
 		}
 	}
 	
+	/**
+	 * Returns a player that streams the given sound from the audio folder instead of loading all of it like {@link #getAudioClip(Class, String)}, for long sounds like music.
+	 * The sound is looked up as a resource of the given class. Returns null if audio is disabled or the sound can't be played. The player must be closed when it is no longer needed.
+	 */
+	public static MusicPlayer getMusicPlayer(Class<?> resourceGrabber, String filename) {
+		if (!audioEnabled) {
+			return null;
+		}
+		try {
+			return new MusicPlayer(resourceGrabber, filename);
+		} catch(Exception e) {
+			System.out.println("Unable to load audio file: " + filename);
+			e.printStackTrace();
+			return null;
+		}
+	}
+	
 	/** Returns true if the file at the given filepath exists, otherwise false. */
 	public static boolean fileExists(Class resourceGrabber, String filename) {
 		return resourceGrabber.getResourceAsStream(filename) != null;
@@ -76,14 +102,14 @@ public class Util {
 	
 	public static String[] readLinesFromFile(Class resourceGrabber, String filename) {
 		BufferedReader in = null;
-		String contents = "";
+		StringBuilder contents = new StringBuilder();
 		try {
 			in = new BufferedReader(new InputStreamReader(resourceGrabber.getResourceAsStream(filename)));
 			while (in.ready()) {
-				contents += in.readLine() + "\n"; //read in a line
+				contents.append(in.readLine()).append('\n'); //read in a line
 			}
 			in.close();
-			return contents.split("\n");
+			return contents.toString().split("\n");
 		} catch (NullPointerException e) {
 			e.printStackTrace();
 		} catch (FileNotFoundException e) {
@@ -102,11 +128,11 @@ public class Util {
 	/** Creates a new BufferedImage using the configuration that works best with the system the program is being run on.
 	 * This code was originally based on a StackOverflow post, but I am unable to locate the exact post.  */
 	public static BufferedImage getEmptyImage(int width, int height, boolean fixSides) {
-		if (config == null) {
-			env = GraphicsEnvironment.getLocalGraphicsEnvironment();
-		    device = env.getDefaultScreenDevice();
-		    config = device.getDefaultConfiguration();
+		if (GraphicsEnvironment.isHeadless()) {
+			// There is no screen to be compatible with, so use a plain image
+			return fixSides ? new BufferedImage(width + 1, height + 1, BufferedImage.TYPE_INT_ARGB) : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
 		}
+		GraphicsConfiguration config = getGraphicsConfiguration();
 		if (fixSides) {
 			return config.createCompatibleImage(width + 1, height + 1, Transparency.TRANSLUCENT);
 		} else {
@@ -114,6 +140,28 @@ public class Util {
 		}
 	}
 	
+	/** Creates a new translucent VolatileImage that can be kept in video memory, or returns null if there is no screen to create it for.
+	 * The contents of the image can be lost at any time, so check {@link VolatileImage#validate(GraphicsConfiguration)} and {@link VolatileImage#contentsLost()} around every use. */
+	public static VolatileImage getEmptyVolatileImage(int width, int height) {
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+		return getGraphicsConfiguration().createCompatibleVolatileImage(width, height, Transparency.TRANSLUCENT);
+	}
+	
+	/** Returns the configuration of the default screen, or null if there is no screen. */
+	public static GraphicsConfiguration getGraphicsConfiguration() {
+		if (GraphicsEnvironment.isHeadless()) {
+			return null;
+		}
+		if (config == null) {
+			env = GraphicsEnvironment.getLocalGraphicsEnvironment();
+		    device = env.getDefaultScreenDevice();
+		    config = device.getDefaultConfiguration();
+		}
+		return config;
+	}
+	
 	/** Finds and returns the smallest double in a given array. */
 	public static double min(double[] array) {
 		double smallest = array[0];
@@ -137,7 +185,12 @@ public class Util {
 	}
 	
 	public static String toPercentageString(double value) {
-		return (int) Math.floor(value * 100) + "%";
+		return toPercentage(value) + "%";
+	}
+	
+	/** Returns a fraction from 0 to 1 as a whole percentage, rounded down, without making a String. */
+	public static int toPercentage(double value) {
+		return (int) Math.floor(value * 100);
 	}
 	
 	public static double sigmoid(double x) {
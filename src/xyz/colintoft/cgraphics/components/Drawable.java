@@ -5,9 +5,11 @@ import java.awt.event.*;
 import java.awt.image.BufferedImage;
 import java.io.*;
 import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.imageio.ImageIO;
 
+import xyz.colintoft.cgraphics.AssetManager;
 import xyz.colintoft.cgraphics.Game;
 import xyz.colintoft.cgraphics.Util;
 
@@ -20,7 +22,14 @@ import xyz.colintoft.cgraphics.Util;
  */
 public class Drawable implements KeyListener, MouseListener {
 
-	protected BufferedImage currentImage;
+	protected volatile BufferedImage currentImage;
+	
+	/** The path that {@link #currentImage} was loaded from, if it was set with {@link #setImage(String)}, so that scaled copies of it can be shared. */
+	private volatile String imagePath;
+	
+	/** A copy of {@link #currentImage} scaled to this Drawable's size in pixels, for images that don't match it. Made again when either changes. */
+	private BufferedImage scaledImage;
+	private BufferedImage scaledFrom;
 	
 	protected double x, y, width, height;
 	
@@ -35,6 +44,33 @@ public class Drawable implements KeyListener, MouseListener {
 	
 	private boolean visible = true;
 	
+	/** Whether this Drawable has changed since it was last drawn. */
+	protected volatile boolean dirty = true;
+	
+	/** Where this Drawable was on the screen when it was last drawn in partial repaint mode. Only meaningful if {@link #wasDrawn} is true. */
+	final Rectangle drawnBounds = new Rectangle();
+	/** Whether this Drawable was drawn in the last frame in partial repaint mode. */
+	boolean wasDrawn = false;
+	
+	/** This Drawable's position and size in pixels, calculated together so that they always match each other. */
+	static final class Geometry {
+		final int x, y, width, height;
+		final int version; // The value of geometryVersion when this was calculated
+		
+		Geometry(int x, int y, int width, int height, int version) {
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.height = height;
+			this.version = version;
+		}
+	}
+	
+	/** The last position and size in pixels that were calculated, which is out of date if its version isn't {@link #geometryVersion}. */
+	private volatile Geometry geometry;
+	/** Changed by {@link #invalidateGeometry()} every time this Drawable moves, is resized or its parent is rescaled. */
+	private final AtomicInteger geometryVersion = new AtomicInteger();
+	
 	public Drawable(double x, double y, double width, double height) {
 		this.x = x;
 		this.y = y;
@@ -54,6 +90,12 @@ public class Drawable implements KeyListener, MouseListener {
 	/** Sets whether the image needs to be updated every frame. */
 	public void setDynamic(boolean dynamic) {
 		this.dynamic = dynamic;
+		invalidate();
+	}
+	
+	/** Returns whether the image needs to be updated every frame. */
+	public boolean isDynamic() {
+		return dynamic;
 	}
 	
 	public double getX() {
@@ -82,18 +124,26 @@ public class Drawable implements KeyListener, MouseListener {
 	
 	public void setX(double x) {
 		this.x = x;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	public void setY(double y) {
 		this.y = y;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	public void setWidth(double width) {
 		this.width = width;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	public void setHeight(double height) {
 		this.height = height;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	public void moveLeft(double delta) {
@@ -113,11 +163,17 @@ public class Drawable implements KeyListener, MouseListener {
 	}
 	
 	public void show() {
-		visible = true;
+		if (!visible) {
+			visible = true;
+			invalidate();
+		}
 	}
 	
 	public void hide() {
-		visible = false;
+		if (visible) {
+			visible = false;
+			invalidate();
+		}
 	}
 	
 	public boolean isVisible() {
@@ -132,7 +188,8 @@ public class Drawable implements KeyListener, MouseListener {
 	 * @see Drawable#setDynamic(boolean)
 	 */
 	public void setImage(String name) {
-		setImage(Util.loadImageFromFile(getClass(), name));
+		setImage(AssetManager.getImage(name)); // Only decoded the first time it is used
+		imagePath = name;
 	}
 
 	/**
@@ -142,7 +199,9 @@ public class Drawable implements KeyListener, MouseListener {
 	 */
 	public void setImage(BufferedImage image) {
 		currentImage = image;
+		imagePath = null;
 		setDynamic(false);
+		invalidate();
 	}
 	
 	public Image getImage() {
@@ -203,14 +262,33 @@ public class Drawable implements KeyListener, MouseListener {
 			}
 			draw(g);
 		} else {
-			if (Math.abs(currentImage.getWidth(null) - pixelWidth()) <= 1 && Math.abs(currentImage.getHeight(null) - pixelHeight()) <= 1) {
-				g.drawImage(currentImage, 0, 0, null);
+			BufferedImage image = currentImage;
+			if (Math.abs(image.getWidth(null) - pixelWidth()) <= 1 && Math.abs(image.getHeight(null) - pixelHeight()) <= 1) {
+				g.drawImage(image, 0, 0, null);
 			} else {
-				g.drawImage(currentImage, 0, 0, pixelWidth(), pixelHeight(), null);
+				g.drawImage(getScaledImage(image), 0, 0, null);
 			}
 		}
 	}
 	
+	/** Returns the given image scaled to this Drawable's size in pixels, scaling it again only if the image or the size has changed since last time. */
+	private BufferedImage getScaledImage(BufferedImage image) {
+		int w = pixelWidth(), h = pixelHeight();
+		if (image != scaledFrom || scaledImage == null || scaledImage.getWidth() != w || scaledImage.getHeight() != h) {
+			String path = imagePath;
+			BufferedImage scaled = path != null ? AssetManager.getScaledImage(path, w, h) : null; // Shared with every other Drawable showing the same image at the same size
+			if (scaled == null) {
+				scaled = Util.getEmptyImage(Math.max(w, 1), Math.max(h, 1), false);
+				Graphics2D g = scaled.createGraphics();
+				g.drawImage(image, 0, 0, w, h, null);
+				g.dispose();
+			}
+			scaledImage = scaled;
+			scaledFrom = image;
+		}
+		return scaledImage;
+	}
+	
 	/**
 	 * Updates this drawable. By default, it is empty, but you can override this method to add logic to a Drawable that is updated many times per second.
 	 * @param dt The amount of time (in seconds) since this method was last called.
@@ -221,10 +299,13 @@ public class Drawable implements KeyListener, MouseListener {
 	
 	public void dispose() {
 		currentImage = null;
+		scaledImage = null;
+		scaledFrom = null;
 	}
 	
 	public void setParentPanel(Panel p) {
 		parentPanel = p;
+		invalidateGeometry();
 		generateImage();
 		if (!started) {
 			started = true;
@@ -250,15 +331,41 @@ public class Drawable implements KeyListener, MouseListener {
 	 * By default, it calls the {@link Drawable#draw(Graphics)} method to create the image.
 	 */
 	protected void generateImage() {
-		currentImage = Util.getEmptyImage(pixelWidth(), pixelHeight());
-		Graphics2D g = currentImage.createGraphics();
+		// Draw into a new image before replacing the old one, so that a frame being drawn on another thread never sees a half drawn image
+		BufferedImage image = Util.getEmptyImage(pixelWidth(), pixelHeight());
+		Graphics2D g = image.createGraphics();
 		if (!dynamic) {
     		if (backgroundColor.getAlpha() > 0) {
         		g.setColor(backgroundColor);
-        		g.fillRect(0, 0, currentImage.getWidth(), currentImage.getHeight());
+        		g.fillRect(0, 0, image.getWidth(), image.getHeight());
     		}
     		draw(g);
 		}
+		g.dispose();
+		currentImage = image;
+		invalidate();
+	}
+	
+	/**
+	 * Marks this Drawable as changed since it was last drawn, along with every panel that contains it, so that they will be drawn again.
+	 * This is called automatically by the setters that change how a Drawable looks or where it is drawn.
+	 * Subclasses that change their appearance in other ways should call it themselves.
+	 */
+	public void invalidate() {
+		dirty = true;
+		if (parentPanel != null) {
+			parentPanel.childInvalidated();
+		}
+	}
+	
+	/** Returns true if this Drawable has changed since it was last drawn, or if it is dynamic and so changes every frame. */
+	public boolean isDirty() {
+		return dirty || dynamic;
+	}
+	
+	/** Marks this Drawable as drawn. Called by the panel that draws it just before drawing it, so that a change made while it is being drawn is not lost. */
+	public void markClean() {
+		dirty = false;
 	}
 	
 	public int pixelX() {
@@ -274,14 +381,14 @@ public class Drawable implements KeyListener, MouseListener {
 		if (parentPanel == null) {
 			System.out.println("Drawable.pixelX(): No panel defined for object " + this + ", cannot calculate pixel X.");
 		}
-		return (int) Math.round(x * parentPanel.pixelWidth()) + leftInset;
+		return geometry().x + leftInset;
 	}
 	
 	public int pixelY(int topInset) {
 		if (parentPanel == null) {
 			System.out.println("Drawable.pixelY(): No panel defined for object " + this + ", cannot calculate pixel Y.");
 		}
-		return (int) Math.round(y * parentPanel.pixelHeight()) + topInset;
+		return geometry().y + topInset;
 	}
 	
 	/**
@@ -291,7 +398,7 @@ public class Drawable implements KeyListener, MouseListener {
 		if (parentPanel == null) {
 			System.out.println("Drawable.pixelWidth(): No panel defined, cannot calculate pixel width.");
 		}
-		return (int) Math.round(width * (parentPanel.pixelWidth()));
+		return geometry().width;
 	}
 	
 	/**
@@ -301,7 +408,31 @@ public class Drawable implements KeyListener, MouseListener {
 		if (parentPanel == null) {
 			System.out.println("Drawable.pixelHeight(): No panel defined, cannot calculate pixel height.");
 		}
-		return (int) Math.round(height * parentPanel.pixelHeight());
+		return geometry().height;
+	}
+	
+	/**
+	 * Returns this Drawable's position and size in pixels, calculating them again only if it has moved, been resized or its parent has been rescaled since they were last calculated.
+	 * Use this instead of calling {@link #pixelX()} and {@link #pixelWidth()} separately when the values have to match, since this Drawable could be moved on another thread in between.
+	 */
+	Geometry geometry() {
+		Geometry g = geometry;
+		int version = geometryVersion.get();
+		if (g == null || g.version != version) {
+			// Read the version before the position and size, so that if they are changed while being read here, the version will have changed too and they will be calculated again
+			int parentWidth = parentPanel.pixelWidth(), parentHeight = parentPanel.pixelHeight();
+			g = new Geometry((int) Math.round(x * parentWidth), (int) Math.round(y * parentHeight), (int) Math.round(width * parentWidth), (int) Math.round(height * parentHeight), version);
+			geometry = g;
+		}
+		return g;
+	}
+	
+	/**
+	 * Makes this Drawable calculate its position and size in pixels again the next time they are used.
+	 * Called by the setters and when the parent panel is set or rescaled. Subclasses that change {@link #x}, {@link #y}, {@link #width} or {@link #height} directly must call it afterwards.
+	 */
+	public void invalidateGeometry() {
+		geometryVersion.incrementAndGet();
 	}
 	
 	/**
@@ -332,6 +463,7 @@ public class Drawable implements KeyListener, MouseListener {
 	
 	public void setBackground(Color c) {
 		backgroundColor = c;
+		invalidate();
 	}
 	
 	public boolean isPointInFrame(double x, double y) {
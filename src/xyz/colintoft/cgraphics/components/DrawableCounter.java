@@ -0,0 +1,303 @@
+package xyz.colintoft.cgraphics.components;
+
+import java.awt.AlphaComposite;
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Shape;
+import java.awt.font.FontRenderContext;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+
+import xyz.colintoft.cgraphics.FontFitter;
+import xyz.colintoft.cgraphics.GlyphOutlineCache;
+import xyz.colintoft.cgraphics.HorizontalAlign;
+import xyz.colintoft.cgraphics.TextureAtlas;
+import xyz.colintoft.cgraphics.Util;
+import xyz.colintoft.cgraphics.VerticalAlign;
+
+/**
+ * Outlined text that shows a whole number between a fixed prefix and suffix, like "57%" or "Attempt 12", for counters that change often.
+ * The digits, the minus sign, the prefix and the suffix are each drawn once per font size into a {@link TextureAtlas},
+ * and the text is put together by copying those pieces into place, so changing the number doesn't lay out or fill any outlines.
+ * Setting the number it already shows does nothing at all. It looks the same as a {@link DrawableOutlinedText} with the same text.
+ * Text set with {@link #setText(String)} that isn't a number between the prefix and suffix is drawn like a {@link DrawableOutlinedText} until a number is shown again.
+ * @author Colin Toft
+ */
+public class DrawableCounter extends DrawableOutlinedText {
+
+	private final String prefix, suffix;
+	private int value;
+	private boolean counting = true; // False while the text is something other than a number between the prefix and suffix
+
+	/** The pieces of the text being shown (see {@link GlyphStrip}), written by {@link #layOutText()} so that drawing doesn't have to read the text. */
+	private final int[] pieces;
+
+	/** The prefix and suffix without the number, which is what the font size is fitted to unless the width of the text is constrained. */
+	private final String fixedText;
+
+	private GlyphStrip glyphs; // The pieces drawn at the current font size
+	private FontMetrics metrics; // The metrics the width of the text is measured with at the current font size
+
+	/** The image that was shown before the current one, drawn into again when the number changes instead of making a new image. */
+	private BufferedImage spareImage;
+
+	/** The pieces that are the minus sign, the prefix and the suffix. Pieces 0 to 9 are the digits. */
+	private static final int minus = 10, prefixPiece = 11, suffixPiece = 12;
+
+	/**
+	 * The pieces that the text is made of, drawn once for one font, colour and outline into an atlas.
+	 * The prefix and suffix are each drawn as a whole, so that the outlines of their characters join the same way as when the text is drawn as one shape.
+	 */
+	private static class GlyphStrip {
+		final Font font;
+		final FontRenderContext frc;
+		final float[] advances;
+		final Rectangle2D[] bounds; // The bounds of each piece's outline, or null for pieces without one (like a space)
+		final int[] offsetX, offsetY; // Where each piece's image goes relative to the start of its baseline
+		final TextureAtlas atlas = new TextureAtlas();
+		final int[] fillIndex, outlineIndex; // The atlas indices of the inside and the outline of each piece
+
+		GlyphStrip(String prefix, String suffix, Font font, FontRenderContext frc, Color color, Color outlineColor, BasicStroke stroke) {
+			this.font = font;
+			this.frc = frc;
+			int count = suffixPiece + 1;
+			advances = new float[count];
+			bounds = new Rectangle2D[count];
+			offsetX = new int[count];
+			offsetY = new int[count];
+			fillIndex = new int[count];
+			outlineIndex = new int[count];
+
+			int padding = (int) Math.ceil(stroke.getLineWidth()) + 2; // Room for the outline and the antialiased edge around it
+			for (int i = 0; i < count; i++) {
+				String text = i == prefixPiece ? prefix : i == suffixPiece ? suffix : i == minus ? "-" : String.valueOf((char) ('0' + i));
+				Shape outline = GlyphOutlineCache.getOutline(text, font, frc);
+				for (int j = 0; j < text.length(); j++) {
+					advances[i] += GlyphOutlineCache.getAdvance(font, frc, text.charAt(j));
+				}
+				if (outline.getPathIterator(null).isDone()) {
+					fillIndex[i] = outlineIndex[i] = -1;
+					continue;
+				}
+				bounds[i] = outline.getBounds2D();
+				offsetX[i] = (int) Math.floor(bounds[i].getMinX()) - padding;
+				offsetY[i] = (int) Math.floor(bounds[i].getMinY()) - padding;
+				int width = (int) Math.ceil(bounds[i].getMaxX()) + padding - offsetX[i];
+				int height = (int) Math.ceil(bounds[i].getMaxY()) + padding - offsetY[i];
+
+				// The insides and outlines are kept apart so that every outline can be drawn over every inside, like when the whole text is filled and then outlined
+				BufferedImage fill = Util.getEmptyImage(width, height, false);
+				Graphics2D g = prepare(fill.createGraphics(), offsetX[i], offsetY[i]);
+				g.setColor(color);
+				g.fill(outline);
+				g.dispose();
+				fillIndex[i] = atlas.add(fill);
+
+				BufferedImage edge = Util.getEmptyImage(width, height, false);
+				g = prepare(edge.createGraphics(), offsetX[i], offsetY[i]);
+				g.setColor(outlineColor);
+				g.setStroke(stroke);
+				g.draw(outline);
+				g.dispose();
+				outlineIndex[i] = atlas.add(edge);
+			}
+			atlas.build();
+		}
+
+		private static Graphics2D prepare(Graphics2D g, int offsetX, int offsetY) {
+			g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+			g.translate(-offsetX, -offsetY);
+			return g;
+		}
+	}
+
+	public DrawableCounter(double x, double y, String prefix, int value, String suffix, Font font, Color color, Color outlineColor, float outlineWidth, HorizontalAlign hAlign, VerticalAlign vAlign) {
+		super(x, y, prefix + value + suffix, font, color, outlineColor, outlineWidth, hAlign, vAlign);
+		this.prefix = prefix;
+		this.suffix = suffix;
+		this.value = value;
+		this.fixedText = prefix + suffix;
+		this.pieces = new int[13]; // Room for the prefix, the suffix and any int, including its minus sign
+	}
+
+	public DrawableCounter(double x, double y, String prefix, int value, String suffix, Font font, Color color, Color outlineColor, HorizontalAlign hAlign, VerticalAlign vAlign) {
+		this(x, y, prefix, value, suffix, font, color, outlineColor, 3f, hAlign, vAlign);
+	}
+
+	public int getValue() {
+		return value;
+	}
+
+	/** Shows the given number. Does nothing if it is already being shown, so this can be called on every update. */
+	public void setValue(int value) {
+		if (value != this.value || !counting) {
+			this.value = value;
+			counting = true;
+			text = prefix + value + suffix;
+			if (parentPanel != null) {
+				generateImage();
+			}
+		}
+	}
+
+	/**
+	 * Shows the given text. If it is the prefix, a number and the suffix, the number is shown with {@link #setValue(int)},
+	 * and otherwise the text is drawn the same way as a {@link DrawableOutlinedText} until a number is shown again.
+	 */
+	@Override
+	public void setText(String newText) {
+		int start = prefix.length(), end = newText.length() - suffix.length();
+		if (end > start && newText.startsWith(prefix) && newText.endsWith(suffix)) {
+			try {
+				int n = Integer.parseInt(newText, start, end, 10);
+				if (newText.equals(prefix + n + suffix)) { // Only if the number is written the way the counter writes it, so "07" or "+7" is drawn as it is
+					setValue(n);
+					return;
+				}
+			} catch (NumberFormatException e) {
+				// Not a number, so it is drawn as text
+			}
+		}
+		counting = false;
+		super.setText(newText);
+	}
+
+	/** Writes the pieces of the text being shown into {@link #pieces} and returns how many there are. */
+	private int layOutText() {
+		int length = 0;
+		pieces[length++] = prefixPiece;
+
+		// Write the digits backwards from the end of the number, so that no String is made
+		long n = Math.abs((long) value);
+		int digits = 1;
+		for (long rest = n / 10; rest > 0; rest /= 10) {
+			digits++;
+		}
+		if (value < 0) {
+			pieces[length++] = minus;
+		}
+		for (int i = length + digits - 1; i >= length; i--) {
+			pieces[i] = (int) (n % 10);
+			n /= 10;
+		}
+		length += digits;
+
+		pieces[length++] = suffixPiece;
+		return length;
+	}
+
+	@Override
+	protected void calculateDimensions() {
+		if (!counting || minWidth > 0 || maxWidth >= 0) {
+			// Text that isn't a number is laid out as it is, and the font size depends on the number when the width is constrained, so it has to be fitted to the whole text
+			super.calculateDimensions();
+			return;
+		}
+
+		// Otherwise only the height matters, which is the same for every number
+		FontFitter.Fit fit = FontFitter.fit(fixedText, baseFont, minWidth, maxWidth, minHeight, maxHeight, parentPanel.pixelWidth(), parentPanel.pixelHeight());
+		font = fit.font;
+		if (metrics == null || !metrics.getFont().equals(font)) {
+			metrics = FontFitter.getFontMetrics(font);
+		}
+		int length = layOutText();
+		int textWidth = 0;
+		for (int i = 0; i < length; i++) {
+			int piece = pieces[i];
+			textWidth += piece == prefixPiece ? metrics.stringWidth(prefix) : piece == suffixPiece ? metrics.stringWidth(suffix) : metrics.charWidth(piece == minus ? '-' : '0' + piece);
+		}
+
+		int border = (int) Math.ceil(outlineWidth) * 2;
+		this.width = pixelToParentWidthFraction(textWidth) + pixelToParentWidthFraction(border);
+		this.height = pixelToParentHeightFraction(fit.pixelHeight) + pixelToParentHeightFraction(border);
+		invalidateGeometry();
+	}
+
+	@Override
+	public void generateImage() {
+		if (!counting) {
+			super.generateImage();
+			return;
+		}
+		BufferedImage previous = currentImage;
+		BufferedImage image = spareImage;
+		calculateDimensions();
+		calculateCoordinates();
+
+		// The spare image can only be drawn into once a frame has been drawn since it was replaced (which marks this clean), since until then it may still be being drawn
+		if (image == null || isDirty() || backgroundColor.getAlpha() > 0 || image.getWidth() != pixelWidth() + 1 || image.getHeight() != pixelHeight() + 1) {
+			super.generateImage();
+		} else {
+			Graphics2D g = image.createGraphics();
+			g.setComposite(AlphaComposite.Clear);
+			g.fillRect(0, 0, image.getWidth(), image.getHeight());
+			g.setComposite(AlphaComposite.SrcOver);
+			draw(g);
+			g.dispose();
+			currentImage = image;
+			invalidate();
+		}
+		spareImage = previous;
+	}
+
+	@Override
+	public void draw(Graphics g) {
+		if (!counting) {
+			super.draw(g);
+			return;
+		}
+		Graphics2D g2d = (Graphics2D) g;
+		g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+		GlyphStrip glyphs = getGlyphs(g2d.getFontRenderContext());
+		int length = layOutText();
+
+		// Find the bounds of the whole text, the same way as the bounds of its outline
+		double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+		float penX = 0;
+		for (int i = 0; i < length; i++) {
+			int c = pieces[i];
+			Rectangle2D b = glyphs.bounds[c];
+			if (b != null) {
+				minX = Math.min(minX, penX + b.getMinX());
+				minY = Math.min(minY, b.getMinY());
+				maxX = Math.max(maxX, penX + b.getMaxX());
+				maxY = Math.max(maxY, b.getMaxY());
+			}
+			penX += glyphs.advances[c];
+		}
+		int boundsWidth = 0, boundsHeight = 0;
+		if (minX <= maxX) {
+			boundsWidth = (int) Math.ceil(maxX) - (int) Math.floor(minX);
+			boundsHeight = (int) Math.ceil(maxY) - (int) Math.floor(minY);
+		}
+		int originX = pixelWidth() / 2 - (boundsWidth / 2), originY = pixelHeight() / 2 + (boundsHeight / 2);
+
+		// Copy every inside first and then every outline, so that the outlines are on top
+		for (int pass = 0; pass < 2; pass++) {
+			penX = 0;
+			for (int i = 0; i < length; i++) {
+				int c = pieces[i];
+				int index = pass == 0 ? glyphs.fillIndex[c] : glyphs.outlineIndex[c];
+				if (index >= 0) {
+					glyphs.atlas.draw(g, index, originX + Math.round(penX) + glyphs.offsetX[c], originY + glyphs.offsetY[c]);
+				}
+				penX += glyphs.advances[c];
+			}
+		}
+	}
+
+	/** Returns the pieces of text drawn in the current font, drawing them first if the font or the render context has changed. */
+	private GlyphStrip getGlyphs(FontRenderContext frc) {
+		if (glyphs == null || !glyphs.font.equals(font) || !glyphs.frc.equals(frc)) {
+			glyphs = new GlyphStrip(prefix, suffix, font, frc, color, outlineColor, new BasicStroke(outlineWidth));
+		}
+		return glyphs;
+	}
+}
@@ -7,12 +7,10 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.Stroke;
 import java.awt.font.FontRenderContext;
-import java.awt.font.TextLayout;
 import java.awt.geom.AffineTransform;
-import java.awt.image.BufferedImage;
 
+import xyz.colintoft.cgraphics.GlyphOutlineCache;
 import xyz.colintoft.cgraphics.HorizontalAlign;
 import xyz.colintoft.cgraphics.VerticalAlign;
 
@@ -21,6 +19,9 @@ public class DrawableOutlinedText extends DrawableText {
 	protected Color outlineColor;
 	protected float outlineWidth;
 	
+	/** The stroke used to draw the outline, kept until the outline width changes. */
+	private BasicStroke outlineStroke;
+	
 	public DrawableOutlinedText(double x, double y, String text, Font font, Color color, Color outlineColor, float outlineWidth, HorizontalAlign hAlign, VerticalAlign vAlign) {
 		super(x, y, text, font, color, hAlign, vAlign);
 		this.outlineColor = outlineColor;
@@ -36,6 +37,7 @@ public class DrawableOutlinedText extends DrawableText {
 		super.calculateDimensions();
 		width += pixelToParentWidthFraction((int)Math.ceil(outlineWidth) * 2);
 		height += pixelToParentHeightFraction((int)Math.ceil(outlineWidth) * 2);
+		invalidateGeometry();
 	}
 	
 	@Override
@@ -43,6 +45,7 @@ public class DrawableOutlinedText extends DrawableText {
 		super.calculateCoordinates();
 		x -= pixelToParentWidthFraction((int)Math.ceil(outlineWidth));
 		y -= pixelToParentWidthFraction((int)Math.ceil(outlineWidth));
+		invalidateGeometry();
 	}
 
 	@Override
@@ -52,16 +55,17 @@ public class DrawableOutlinedText extends DrawableText {
 		g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
 
 		FontRenderContext frc = g2d.getFontRenderContext();
-		TextLayout textTl = new TextLayout(text, font, frc);
-		AffineTransform transform = new AffineTransform();
-		Shape outline = textTl.getOutline(null);
+		Shape outline = GlyphOutlineCache.getOutline(text, font, frc); // Put together from cached characters instead of laying out the text again
 		java.awt.Rectangle outlineBounds = outline.getBounds();
 		
-		transform = g2d.getTransform();
+		AffineTransform transform = g2d.getTransform();
 		transform.translate(pixelWidth() / 2 - (outlineBounds.width / 2), pixelHeight() / 2 + (outlineBounds.height / 2));
 		g2d.transform(transform);
 		g2d.setColor(color);
-		g2d.setStroke(new BasicStroke(outlineWidth));
+		if (outlineStroke == null || outlineStroke.getLineWidth() != outlineWidth) {
+			outlineStroke = new BasicStroke(outlineWidth);
+		}
+		g2d.setStroke(outlineStroke);
 		g2d.fill(outline);
 		g2d.setColor(outlineColor);
 		g2d.draw(outline);
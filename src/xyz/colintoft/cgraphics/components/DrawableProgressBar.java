@@ -4,10 +4,14 @@ import java.awt.BasicStroke;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.Image;
 import java.awt.RenderingHints;
 import java.awt.geom.Area;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+
+import xyz.colintoft.cgraphics.Util;
 
 public class DrawableProgressBar extends Drawable {
 	private Color borderColor, completeColor, incompleteColor;
@@ -15,6 +19,11 @@ public class DrawableProgressBar extends Drawable {
 	private float borderWidth;
 	private double value;
 	
+	/** Whether the bar is drawn from a pre-rendered empty and full bar instead of being drawn again whenever its value changes. */
+	private boolean incremental = false;
+	private volatile BufferedImage emptyImage, fullImage; // The bar at 0 and 1, in incremental mode
+	private volatile int fillPixels; // How many pixels of the full bar are shown, in incremental mode
+	
 	public DrawableProgressBar(double x, double y, double width, double height, double arcw, double arch, Color borderColor, float borderWidth, Color completeColor, Color incompleteColor) {
 		super(x, y, width, height);
 		this.borderColor = borderColor;
@@ -36,19 +45,106 @@ public class DrawableProgressBar extends Drawable {
 	
 	/** Sets the value of this progress bar, from 0 (empty) to 1 (filled). */
 	public void setValue(double value) {
+		if (value == this.value) {
+			return; // Nothing to draw again
+		}
 		this.value = value;
+		if (parentPanel != null) {
+			if (incremental) {
+				updateFill();
+			} else {
+				generateImage();
+			}
+		}
+	}
+	
+	/**
+	 * Sets whether this progress bar is drawn incrementally, for bars whose value changes often. When it is, the empty and full bar are drawn once for each size,
+	 * and each frame shows the full bar up to the value and the empty bar after it, so changing the value doesn't draw anything.
+	 * The edge of the filled part is rounded to the nearest pixel, and the bar is only drawn again when that pixel changes.
+	 */
+	public void setIncremental(boolean incremental) {
+		this.incremental = incremental;
 		if (parentPanel != null) {
 			generateImage();
 		}
 	}
 	
+	public boolean isIncremental() {
+		return incremental;
+	}
+	
+	/** Shows the full bar up to the current value, in incremental mode. Does nothing if that is the same number of pixels as before. */
+	private void updateFill() {
+		int fill = (int) Math.round(pixelWidth() * Math.max(0, Math.min(1, value)));
+		if (fill != fillPixels) {
+			fillPixels = fill;
+			invalidate();
+		}
+	}
+	
+	@Override
+	public void generateImage() {
+		if (!incremental) {
+			emptyImage = null;
+			fullImage = null;
+			super.generateImage();
+			return;
+		}
+		emptyImage = renderBar(0);
+		fullImage = renderBar(1);
+		fillPixels = -1;
+		updateFill();
+	}
+	
+	/** Returns a new image of this bar with the given value. */
+	private BufferedImage renderBar(double value) {
+		BufferedImage image = Util.getEmptyImage(pixelWidth(), pixelHeight());
+		Graphics2D g = image.createGraphics();
+		drawBar(g, value);
+		g.dispose();
+		return image;
+	}
+	
+	@Override
+	public Image getImage() {
+		if (!incremental || parentPanel == null) {
+			return super.getImage();
+		}
+		// Only made when asked for, since the bar isn't kept as one image in incremental mode
+		BufferedImage image = Util.getEmptyImage(pixelWidth(), pixelHeight());
+		Graphics2D g = image.createGraphics();
+		drawImage(g);
+		g.dispose();
+		return image;
+	}
+	
+	@Override
+	public void drawImage(Graphics g) {
+		BufferedImage empty = emptyImage, full = fullImage;
+		if (!incremental || empty == null || full == null) {
+			super.drawImage(g);
+			return;
+		}
+		// The full bar up to the edge of the filled part, then the empty bar after it, so that no pixel is drawn twice
+		int w = full.getWidth(), h = full.getHeight();
+		int fill = Math.min(fillPixels, w);
+		if (fill > 0) {
+			g.drawImage(full, 0, 0, fill, h, 0, 0, fill, h, null);
+		}
+		g.drawImage(empty, fill, 0, w, h, fill, 0, w, h, null);
+	}
+	
 	public double getValue() {
 		return value;
 	}
 	
 	@Override
 	public void draw(Graphics g) {
-		Graphics2D g2d = (Graphics2D) g;
+		drawBar((Graphics2D) g, value);
+	}
+	
+	private void drawBar(Graphics2D g2d, double value) {
 		RoundRectangle2D outerRect = new RoundRectangle2D.Double(0, 0, pixelWidth(), pixelHeight(), (int)(arcw * parentPanel.pixelWidth()), (int)(arch * parentPanel.pixelHeight()));
 		Rectangle2D innerRect = new Rectangle2D.Double(0, 0, pixelWidth() * value, pixelHeight());
 		Area outerArea = new Area(outerRect);
@@ -7,10 +7,9 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.Shape;
-import java.awt.image.BufferedImage;
 
+import xyz.colintoft.cgraphics.FontFitter;
 import xyz.colintoft.cgraphics.HorizontalAlign;
-import xyz.colintoft.cgraphics.Util;
 import xyz.colintoft.cgraphics.VerticalAlign;
 
 public class DrawableText extends Drawable {
@@ -71,6 +70,8 @@ public class DrawableText extends Drawable {
 		case RIGHT:
 			this.x = anchorX - this.width; break;
 		}
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	@Override
@@ -84,158 +85,49 @@ public class DrawableText extends Drawable {
 		case BOTTOM:
 			y = anchorY - this.height; break;
 		}
+		invalidate();
 	}
 	
 	@Override
 	public void moveLeft(double delta) {
 		x -= delta;
 		anchorX -= delta;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	@Override
 	public void moveRight(double delta) {
 		x += delta;
 		anchorX += delta;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	@Override
 	public void moveUp(double delta) {
 		y -= delta;
 		anchorY -= delta;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	@Override
 	public void moveDown(double delta) {
 		y += delta;
 		anchorY += delta;
-	}
-	
-	// 8
-	private int getWidthLowBound() {
-		if (minWidth <= 0) {
-			return 0;
-		}
-		
-		BufferedImage image = Util.getEmptyImage(1, 1); // Blank image to get font metrics
-		Graphics2D ig = image.createGraphics();
-
-		int lowBound = 0;
-		int highBound = parentPanel.pixelHeight() + 5;
-		int fontSize = baseFont.getSize();
-		
-		while (lowBound != highBound) {
-			fontSize = (lowBound + highBound) / 2;
-			font = font.deriveFont((float) fontSize);
-			width = pixelToParentWidthFraction(ig.getFontMetrics(font).stringWidth(text));
-			if (width < minWidth) {
-				lowBound = fontSize + 1;
-			} else {
-				highBound = fontSize;
-			}
-		}
-		return lowBound;
-	}
-	
-	// 8
-	private int getWidthHighBound() {
-		if (maxWidth < 0) {
-			return Integer.MAX_VALUE;
-		}
-		
-		BufferedImage image = Util.getEmptyImage(1, 1); // Blank image to get font metrics
-		Graphics2D ig = image.createGraphics();
-
-		int lowBound = 0;
-		int highBound = parentPanel.pixelHeight() + 5;
-		int fontSize = baseFont.getSize();
-		
-		while (lowBound != highBound) {
-			fontSize = (int) Math.ceil((lowBound + highBound) / 2.0);
-			font = font.deriveFont((float) fontSize);
-			width = pixelToParentWidthFraction(ig.getFontMetrics(font).stringWidth(text));
-			if (width > maxWidth) {
-				highBound = fontSize - 1;
-			} else {
-				lowBound = fontSize;
-			}
-		}
-		return highBound;
-	}
-	
-	// 8
-	private int getHeightLowBound() {
-		if (minHeight <= 0) {
-			return 0;
-		}
-		
-		BufferedImage image = Util.getEmptyImage(1, 1); // Blank image to get font metrics
-		Graphics2D ig = image.createGraphics();
-
-		int lowBound = 0;
-		int highBound = parentPanel.pixelHeight() + 5;
-		int fontSize = baseFont.getSize();
-		
-		while (lowBound != highBound) {
-			fontSize = (lowBound + highBound) / 2;
-			font = font.deriveFont((float) fontSize);
-			height = pixelToParentHeightFraction(ig.getFontMetrics(font).getHeight());
-			if (height < minHeight) {
-				lowBound = fontSize + 1;
-			} else {
-				highBound = fontSize;
-			}
-		}
-		return lowBound;
-	}
-	
-	// 8
-	private int getHeightHighBound() {
-		if (maxHeight < 0) {
-			return Integer.MAX_VALUE;
-		}
-		
-		BufferedImage image = Util.getEmptyImage(1, 1); // Blank image to get font metrics
-		Graphics2D ig = image.createGraphics();
-
-		int lowBound = 0;
-		int highBound = parentPanel.pixelHeight() + 5;
-		int fontSize = baseFont.getSize();
-		
-		while (lowBound != highBound) {
-			fontSize = (int) Math.ceil((lowBound + highBound) / 2.0);
-			font = font.deriveFont((float) fontSize);
-			height = pixelToParentHeightFraction(ig.getFontMetrics(font).getHeight());
-			if (height > maxHeight) {
-				highBound = fontSize - 1;
-			} else {
-				lowBound = fontSize;
-			}
-		}
-		return highBound;
+		invalidateGeometry();
+		invalidate();
 	}
 	
 	protected void calculateDimensions() {
-		BufferedImage image = Util.getEmptyImage(1, 1); // Blank image to get font metrics
-		Graphics2D ig = image.createGraphics();
-		
-		this.width = pixelToParentWidthFraction(ig.getFontMetrics(baseFont).stringWidth(text));
-		this.height = pixelToParentHeightFraction(ig.getFontMetrics(baseFont).getHeight());
-		
-		int lowBound = Math.max(getWidthLowBound(), getHeightLowBound());
-		int highBound = Math.min(getWidthHighBound(), getHeightHighBound());
-		
-		int fontSize;
-		try {
-			fontSize = Util.constrain(baseFont.getSize(), lowBound, highBound);
-		} catch (IllegalArgumentException e) {
-			System.out.println("Illegal width and height constraints on DrawableText object.");
-			fontSize = baseFont.getSize();
-		}
-		
-		font = font.deriveFont((float) fontSize);
+		// The font size is cached by the fitter, so laying out the same text again doesn't measure it again
+		FontFitter.Fit fit = FontFitter.fit(text, baseFont, minWidth, maxWidth, minHeight, maxHeight, parentPanel.pixelWidth(), parentPanel.pixelHeight());
+		font = fit.font;
 		
-		this.width = pixelToParentWidthFraction(ig.getFontMetrics(font).stringWidth(text));
-		this.height = pixelToParentHeightFraction(ig.getFontMetrics(font).getHeight());
+		this.width = pixelToParentWidthFraction(fit.pixelWidth);
+		this.height = pixelToParentHeightFraction(fit.pixelHeight);
+		invalidateGeometry();
 	}
 	
 	protected void calculateCoordinates() {
@@ -256,6 +148,7 @@ public class DrawableText extends Drawable {
 		case BOTTOM:
 			y = anchorY - this.height; break;
 		}
+		invalidateGeometry();
 	}
 	
 	@Override
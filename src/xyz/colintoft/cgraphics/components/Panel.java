@@ -1,19 +1,37 @@
 package xyz.colintoft.cgraphics.components;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Insets;
+import java.awt.Rectangle;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
 import java.util.ArrayList;
 
+import xyz.colintoft.cgraphics.DirtyRegion;
 import xyz.colintoft.cgraphics.Game;
 import xyz.colintoft.cgraphics.Util;
 
 public class Panel extends Drawable {
 
 	protected ArrayList<Drawable> drawables;
+	
+	/** The retained image of this panel, used when it is drawn inside another panel without filling it. Kept in video memory when possible. */
+	private VolatileImage surface;
+	/** Used instead of {@link #surface} when there is no screen to accelerate it for. */
+	private BufferedImage softwareSurface;
+	
+	/** Whether a child of this panel (or a child of a child panel) has changed since this panel was last drawn. */
+	private volatile boolean childDirty = true;
+	
+	/** Reused for the transform of each child while drawing, so that drawing doesn't allocate a new one for every child on every frame. */
+	private final AffineTransform childTransform = new AffineTransform();
+	/** Reused for the bounds of each child while looking for the parts of the screen that changed. */
+	private final Rectangle childBounds = new Rectangle();
 		
 	public Panel(double x, double y, double width, double height) {
 		super(x, y, width, height);
@@ -36,6 +54,7 @@ public class Panel extends Drawable {
 	@Override
 	public void setParentPanel(Panel p) {
 		parentPanel = p;
+		invalidateGeometry(); // Before the children are laid out, since they use this panel's size
 		
 		for (Drawable d: drawables) {
 			d.setParentPanel(this);
@@ -44,6 +63,15 @@ public class Panel extends Drawable {
 		super.setParentPanel(p);
 	}
 	
+	/** Also makes every child calculate its position and size in pixels again, since they depend on this panel's size. */
+	@Override
+	public void invalidateGeometry() {
+		super.invalidateGeometry();
+		for (int i = 0; i < drawables.size(); i++) {
+			drawables.get(i).invalidateGeometry();
+		}
+	}
+	
 	public boolean fillsParent() {
 		return x == 0 && y == 0 && width == 1 && height == 1;
 	}
@@ -71,19 +99,27 @@ public class Panel extends Drawable {
 			g2d.fillRect(leftInset, topInset, pixelWidth(), pixelHeight());
 		}
 	
-		for (Drawable d: drawables) {
+		// Indexed instead of a for each loop, which would allocate an iterator on every frame
+		for (int i = 0; i < drawables.size(); i++) {
+			Drawable d = drawables.get(i);
 			if (!d.isVisible()) {
 				continue;
 			}
+			Geometry geometry = d.geometry(); // Read once, so that the position used matches even if the child is moved on another thread
 			if (d instanceof Panel) {
-				g2d.setTransform(new AffineTransform());
+				childTransform.setToIdentity();
+				g2d.setTransform(childTransform);
 		    	if (((Panel) d).fillsParent()) {
+		    		d.markClean();
 		    		((Panel) d).draw(g2d);
 		    	} else {
-		    		g2d.drawImage(((Panel) d).getImage(), d.pixelX(leftInset), d.pixelY(topInset), d.pixelWidth(), d.pixelHeight(), null);
+		    		((Panel) d).drawSurface(g2d, geometry.x + leftInset, geometry.y + topInset); // Marks the panel clean if it has to be drawn again
 		    	}
 		    } else {
-	    		g2d.setTransform(AffineTransform.getTranslateInstance(d.pixelX(leftInset), d.pixelY(topInset)));
+		    	// Set the whole transform rather than translating, so a child that leaves the transform changed can't move the ones after it
+		    	childTransform.setToTranslation(geometry.x + leftInset, geometry.y + topInset);
+	    		g2d.setTransform(childTransform);
+	    		d.markClean();
 	    		d.drawImage(g2d);
 		    }
 		}
@@ -95,6 +131,141 @@ public class Panel extends Drawable {
 		return i;
 	}
 	
+	/**
+	 * Draws this panel from its retained surface, which is only drawn again when this panel is dirty (see {@link #isDirty()}) or the surface's contents were lost.
+	 * @param g The graphics object to draw to.
+	 * @param x The x coordinate in pixels to draw the top left corner of this panel at.
+	 * @param y The y coordinate in pixels to draw the top left corner of this panel at.
+	 */
+	protected void drawSurface(Graphics2D g, int x, int y) {
+		int w = pixelWidth(), h = pixelHeight();
+		if (w <= 0 || h <= 0) {
+			return;
+		}
+		boolean redraw = isDirty();
+		
+		GraphicsConfiguration config = Util.getGraphicsConfiguration();
+		if (config == null) {
+			// No screen, so keep the surface in a normal image
+			if (softwareSurface == null || softwareSurface.getWidth() != w || softwareSurface.getHeight() != h) {
+				softwareSurface = Util.getEmptyImage(w, h, false);
+				redraw = true;
+			}
+			if (redraw) {
+				renderSurface(softwareSurface.createGraphics());
+			}
+			g.drawImage(softwareSurface, x, y, null);
+			return;
+		}
+		
+		do {
+			if (surface == null || surface.getWidth() != w || surface.getHeight() != h) {
+				replaceSurface(w, h);
+				redraw = true;
+			}
+			int status = surface.validate(config);
+			if (status == VolatileImage.IMAGE_INCOMPATIBLE) {
+				// The screen configuration changed, so the surface has to be created again
+				replaceSurface(w, h);
+				redraw = true;
+			} else if (status == VolatileImage.IMAGE_RESTORED) {
+				redraw = true; // The surface is usable again, but what was drawn on it is gone
+			}
+			
+			if (redraw) {
+				renderSurface(surface.createGraphics());
+			}
+			g.drawImage(surface, x, y, null);
+			redraw = true; // If the contents were lost while drawing, everything has to be drawn again
+		} while (surface.contentsLost());
+	}
+	
+	private void replaceSurface(int w, int h) {
+		if (surface != null) {
+			surface.flush();
+		}
+		surface = Util.getEmptyVolatileImage(w, h);
+	}
+	
+	/** Clears the surface and draws every child onto it. */
+	private void renderSurface(Graphics2D g) {
+		markClean(); // Before drawing, so that a change made by another thread while drawing is not lost
+		g.setComposite(AlphaComposite.Clear);
+		g.fillRect(0, 0, pixelWidth(), pixelHeight());
+		g.setComposite(AlphaComposite.SrcOver);
+		draw(g);
+		g.dispose();
+	}
+	
+	/** Returns true if any visible child (or child of a child panel) is dynamic, meaning this panel has to be drawn again every frame. */
+	protected boolean hasDynamicContent() {
+		for (int i = 0; i < drawables.size(); i++) {
+			Drawable d = drawables.get(i);
+			if (d.isVisible() && (d instanceof Panel ? ((Panel) d).hasDynamicContent() : d.isDynamic())) {
+				return true;
+			}
+		}
+		return false;
+	}
+	
+	/** Returns true if this panel or one of its children has changed since it was last drawn, or if a visible child is dynamic. */
+	@Override
+	public boolean isDirty() {
+		return dirty || childDirty || hasDynamicContent();
+	}
+	
+	@Override
+	public void markClean() {
+		super.markClean();
+		childDirty = false;
+	}
+	
+	/** Called when a child of this panel has changed, so that this panel and the panels containing it will be drawn again. */
+	void childInvalidated() {
+		childDirty = true;
+		if (parentPanel != null) {
+			parentPanel.childInvalidated();
+		}
+	}
+	
+	/**
+	 * Adds the parts of the screen that have to be drawn again to the given region: the old and new bounds of every child that has changed, moved, appeared or disappeared since it was last drawn.
+	 * Children that are panels filling this panel are searched instead of being added whole, since they are drawn straight onto the same surface.
+	 * Must be called once before each frame is drawn in partial repaint mode, since it also records where each child is being drawn.
+	 * @param region The region to add the changed areas to.
+	 * @param left The x coordinate in pixels that this panel's children are positioned from.
+	 * @param top The y coordinate in pixels that this panel's children are positioned from.
+	 */
+	public void collectDirtyRegions(DirtyRegion region, int left, int top) {
+		if (dirty) {
+			// Something about this panel itself changed, such as its background, so all of it has to be drawn again
+			region.add(left, top, pixelWidth(), pixelHeight());
+		}
+		
+		for (int i = 0; i < drawables.size(); i++) {
+			Drawable d = drawables.get(i);
+			boolean visible = d.isVisible();
+			if (visible) {
+				Geometry geometry = d.geometry(); // Read once, so that the position and size match even if the child is moved on another thread
+				childBounds.setBounds(geometry.x + left, geometry.y + top, geometry.width, geometry.height);
+			}
+			if (d instanceof Panel && ((Panel) d).fillsParent() && visible && d.wasDrawn) {
+				((Panel) d).collectDirtyRegions(region, 0, 0); // Panels that fill their parent are drawn without insets
+			} else if (visible != d.wasDrawn || (visible && (d.isDirty() || !childBounds.equals(d.drawnBounds)))) {
+				if (d.wasDrawn) {
+					region.add(d.drawnBounds);
+				}
+				if (visible) {
+					region.add(childBounds);
+				}
+			}
+			d.wasDrawn = visible;
+			if (visible) {
+				d.drawnBounds.setBounds(childBounds);
+			}
+		}
+	}
+	
 	/** Called many times per second depending on the games current update FPS, to change it use the {@link Game#setUpdateFPS(double)} method.
 	 * You should use it to update game logic (save the drawing for the {@link #draw(Graphics) method}). <br>
 	 * Note: if overriding this method, super.update() needs to be called. <br>
@@ -113,6 +284,7 @@ public class Panel extends Drawable {
 			d.setParentPanel(this);
 		}
 		drawables.add(d);
+		childInvalidated();
 		return d;
 	}
 	
@@ -120,6 +292,12 @@ public class Panel extends Drawable {
 		for (Drawable d: drawables) {
 			d.dispose();
 		}
+		if (surface != null) {
+			surface.flush();
+			surface = null;
+		}
+		softwareSurface = null;
+		invalidate();
 	}
 	
 	/** This method will be automatically called whenever the game is paused. If overriding this method, make sure to call super.onPause() inside this method. */
@@ -141,6 +319,7 @@ public class Panel extends Drawable {
 	/** This method will be automatically called whenever the window is rescaled. If overriding this method, make sure to call super.onRescale() inside this method. */
 	public void onRescale() {
 		// Set the panel of each drawable so they will regenerate their image
+		invalidateGeometry();
 		generateImage();
 		for (Drawable d: drawables) {
 			d.setParentPanel(this);
@@ -0,0 +1,184 @@
+package xyz.colintoft.shapesprint;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Picks the right square image for every solid block in a level based on which of its 8 neighbors are also solid.
+The neighbors of each block are packed into an 8 bit mask, which is looked up in a table of all 256 possible masks that is built once from the rules for choosing a square.
+The level is padded with a border of empty blocks so that blocks on the edges need no special cases, and wide levels are split into column ranges that are tiled in parallel.
+***********************************************
+*/
+public class Autotiler {
+
+	// The bit of the mask used for each neighbor
+	private static final int LEFT = 1, RIGHT = 2, UP = 4, DOWN = 8;
+	private static final int BOTTOM_LEFT = 16, BOTTOM_RIGHT = 32, TOP_LEFT = 64, TOP_RIGHT = 128;
+
+	private static final Obstacle[] tiles = new Obstacle[256]; // The square to use for each possible mask of neighbors
+
+	private static final int parallelThreshold = 4096; // Levels (and column ranges) at least this wide are split up and tiled in parallel
+
+	static {
+		for (int mask = 0; mask < tiles.length; mask++) {
+			tiles[mask] = chooseSquare(mask);
+		}
+	}
+
+	/** Method Name: autotile()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Replaces every solid block in the grid with the square that matches its neighbors
+	 * @Parameters
+	 *      - LevelGrid grid: the obstacles of the level
+	 * @Returns N/A
+	 * Data Type: boolean, int, LevelGrid
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public static void autotile(LevelGrid grid) {
+		int paddedHeight = grid.height + 2;
+
+		// Copy which blocks are solid into an array with an extra empty block on every side of the level
+		boolean[] solid = new boolean[(grid.width + 2) * paddedHeight];
+		for (int x = 0; x < grid.width; x++) {
+			for (int y = 0; y < grid.height; y++) {
+				solid[(x + 1) * paddedHeight + y + 1] = grid.isSolid(x, y);
+			}
+		}
+
+		TileColumns task = new TileColumns(grid, solid, 0, grid.width);
+		if (grid.width < parallelThreshold) {
+			task.compute(); // Not worth the overhead of using other threads
+		} else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	/** Tiles a range of columns, splitting it in half and tiling both halves in parallel while it is wide enough. */
+	@SuppressWarnings("serial")
+	private static class TileColumns extends RecursiveAction {
+
+		private final LevelGrid grid;
+		private final boolean[] solid; // Whether each block is solid, padded by one block on every side
+		private final int startX, endX; // The range of columns to tile (endX is exclusive)
+
+		TileColumns(LevelGrid grid, boolean[] solid, int startX, int endX) {
+			this.grid = grid;
+			this.solid = solid;
+			this.startX = startX;
+			this.endX = endX;
+		}
+
+		@Override
+		protected void compute() {
+			if (endX - startX >= parallelThreshold) {
+				int middle = (startX + endX) >>> 1;
+				invokeAll(new TileColumns(grid, solid, startX, middle), new TileColumns(grid, solid, middle, endX));
+				return;
+			}
+
+			int stride = grid.height + 2; // The distance between columns in the padded array
+			for (int x = startX; x < endX; x++) {
+				int center = (x + 1) * stride + 1; // The index of (x, 0) in the padded array
+				for (int y = 0; y < grid.height; y++, center++) {
+					if (!solid[center]) {
+						continue;
+					}
+					int mask = 0;
+					if (solid[center - stride]) mask |= LEFT;
+					if (solid[center + stride]) mask |= RIGHT;
+					if (solid[center + 1]) mask |= UP;
+					if (solid[center - 1]) mask |= DOWN;
+					if (solid[center - stride - 1]) mask |= BOTTOM_LEFT;
+					if (solid[center + stride - 1]) mask |= BOTTOM_RIGHT;
+					if (solid[center - stride + 1]) mask |= TOP_LEFT;
+					if (solid[center + stride + 1]) mask |= TOP_RIGHT;
+					grid.set(x, y, tiles[mask]);
+				}
+			}
+		}
+	}
+
+	/** Method Name: chooseSquare()
+	 * @Author Colin Toft
+	 * @Date December 31st, 2019
+	 * @Modified October 18th, 2026
+	 * @Description Chooses the correct square for a block based on its neighbors. Only used to build the lookup table.
+	 * @Parameters
+	 *      - int mask: which neighbors of the block are solid
+	 * @Returns The square Obstacle that should be drawn for the block
+	 * Data Type: boolean, int, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	private static Obstacle chooseSquare(int mask) {
+		// The square's neighbors in all directions (true if there is a square in that location, otherwise false)
+		boolean left = (mask & LEFT) != 0, right = (mask & RIGHT) != 0, up = (mask & UP) != 0, down = (mask & DOWN) != 0;
+		boolean bottomLeft = (mask & BOTTOM_LEFT) != 0, bottomRight = (mask & BOTTOM_RIGHT) != 0, topLeft = (mask & TOP_LEFT) != 0, topRight = (mask & TOP_RIGHT) != 0;
+
+		// Look at the squares neighbors to determine the correct shape
+		if (!left && !right && !up && !down) {
+			return Obstacle.SQUARE;
+		} else if (left && right && !up && down) {
+			if (!bottomLeft) {
+				return Obstacle.SQUARE_CENTER_BOTTOM_LEFT_LINE_TOP;
+			} else if (!bottomRight) {
+				return Obstacle.SQUARE_CENTER_BOTTOM_RIGHT_LINE_TOP;
+			} else {
+				return Obstacle.SQUARE_TOP_1;
+			}
+		} else if (left && right && up && !down) {
+			if (!topLeft && !topRight) {
+				return Obstacle.SQUARE_CENTER_TOP_LEFT_TOP_RIGHT_LINE_BOTTOM;
+			} else if (!topLeft) {
+				return Obstacle.SQUARE_CENTER_TOP_LEFT_LINE_BOTTOM;
+			} else if (!topRight) {
+				return Obstacle.SQUARE_CENTER_TOP_RIGHT_LINE_BOTTOM;
+			} else {
+				return Obstacle.SQUARE_BOTTOM_1;
+			}
+		} else if (!left && right && up && down) {
+			return Obstacle.SQUARE_LEFT_1;
+		} else if (left && !right && up && down) {
+			return Obstacle.SQUARE_RIGHT_1;
+		} else if (!left && right && !up && down) {
+			return Obstacle.SQUARE_TOP_LEFT;
+		} else if (!left && right && up && !down) {
+			return Obstacle.SQUARE_BOTTOM_LEFT;
+		} else if (left && !right && !up && down) {
+			return Obstacle.SQUARE_TOP_RIGHT;
+		} else if (left && !right && up && !down) {
+			return Obstacle.SQUARE_BOTTOM_RIGHT;
+		} else if (!left && !right && up && down) {
+			return Obstacle.SQUARE_VERTICAL;
+		} else if (left && right && !up && !down) {
+			return Obstacle.SQUARE_HORIZONTAL;
+		} else if (left && !right && !up && !down) {
+			return Obstacle.SQUARE_RIGHT_3;
+		} else if (!left && right && !up && !down) {
+			return Obstacle.SQUARE_LEFT_3;
+		} else if (!left && !right && up && !down) {
+			return Obstacle.SQUARE_BOTTOM_3;
+		} else if (!left && !right && !up && down) {
+			return Obstacle.SQUARE_TOP_3;
+		} else {
+			if (!bottomLeft) {
+				return Obstacle.SQUARE_CENTER_BOTTOM_LEFT;
+			} else if (!bottomRight) {
+				return Obstacle.SQUARE_CENTER_BOTTOM_RIGHT;
+			} else if (!topLeft) {
+				return Obstacle.SQUARE_CENTER_TOP_LEFT;
+			} else if (!topRight) {
+				return Obstacle.SQUARE_CENTER_TOP_RIGHT;
+			} else {
+				return Obstacle.SQUARE_CENTER;
+			}
+		}
+	}
+}
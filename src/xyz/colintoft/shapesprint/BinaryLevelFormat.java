@@ -0,0 +1,246 @@
+package xyz.colintoft.shapesprint;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Reads and writes levels in a compact binary format, and converts text level files to it.
+All numbers are big endian. A file is laid out as:
+	- Header: the magic bytes "SSLV", the format version (2 bytes), flags (2 bytes), then the width and height of the level (4 bytes each)
+	- Obstacle table: the number of obstacle types (2 bytes), then the name of each type as a length (1 byte) followed by ASCII characters.
+	  Obstacles in the file are stored as an index into this table, so files stay valid if the Obstacle enum is reordered.
+	- Columns: for each x from 0 to width - 1, runs of identical blocks from the bottom to the top of the column.
+	  Each run is a length (1 byte, from 1 to 255) and an index into the obstacle table (1 byte, or 255 for empty blocks). The lengths of each column add up to the height.
+When the AUTOTILED flag is set the squares have already been autotiled, so the loader does not need to do it again.
+***********************************************
+*/
+public class BinaryLevelFormat {
+
+	public static final String extension = ".level"; // Level files with this extension are stored in this format
+	public static final int version = 1; // The version of the format written by this class
+
+	public static final int AUTOTILED = 1; // Flag that is set if the squares in the file have already been autotiled
+
+	private static final byte[] magic = {'S', 'S', 'L', 'V'}; // The first four bytes of every file in this format
+	private static final int emptyIndex = 255; // The obstacle index used for empty blocks
+	private static final int maxRunLength = 255; // Longer runs are split into several runs
+
+	/** The obstacles read from a binary level file, along with the flags from its header. */
+	public static class LoadedLevel {
+		public final LevelGrid grid; // The obstacles in the level
+		public final int flags; // The flags from the header of the file
+
+		LoadedLevel(LevelGrid grid, int flags) {
+			this.grid = grid;
+			this.flags = flags;
+		}
+
+		public boolean isAutotiled() {
+			return (flags & AUTOTILED) != 0;
+		}
+	}
+
+	/** Method Name: load()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Loads a binary level from a resource. If the resource is a file on disk it is memory mapped through a FileChannel, otherwise (for example inside a jar) it is read from its stream.
+	 * @Parameters
+	 *      - URL resource: the location of the level file
+	 * @Returns The level that was read
+	 * Data Type: URL, Path, FileChannel, ByteBuffer
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if the file can't be read or is not a valid level file
+	 */
+	public static LoadedLevel load(URL resource) throws IOException {
+		if ("file".equals(resource.getProtocol())) {
+			Path path;
+			try {
+				path = Paths.get(resource.toURI());
+			} catch (URISyntaxException e) {
+				throw new IOException("Invalid level path: " + resource, e);
+			}
+			try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+				return read(buffer);
+			}
+		}
+
+		try (InputStream in = resource.openStream()) {
+			return read(ByteBuffer.wrap(in.readAllBytes()));
+		}
+	}
+
+	/** Method Name: read()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Reads a binary level from a buffer, starting at its current position
+	 * @Parameters
+	 *      - ByteBuffer buffer: the contents of the level file
+	 * @Returns The level that was read
+	 * Data Type: ByteBuffer, int, Obstacle, LevelGrid
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if the buffer does not contain a valid level file of a supported version
+	 */
+	public static LoadedLevel read(ByteBuffer buffer) throws IOException {
+		try {
+			// Read and check the header
+			for (byte b: magic) {
+				if (buffer.get() != b) {
+					throw new IOException("Not a Shape Sprint level file");
+				}
+			}
+			int fileVersion = buffer.getShort() & 0xFFFF;
+			if (fileVersion != version) {
+				throw new IOException("Unsupported level file version: " + fileVersion);
+			}
+			int flags = buffer.getShort() & 0xFFFF;
+			int width = buffer.getInt();
+			int height = buffer.getInt();
+			if (width <= 0 || height <= 0) {
+				throw new IOException("Invalid level size: " + width + "x" + height);
+			}
+
+			// Match the obstacle names in the file to the current Obstacle types
+			int typeCount = buffer.getShort() & 0xFFFF;
+			Obstacle[] types = new Obstacle[typeCount];
+			byte[] name = new byte[255];
+			for (int i = 0; i < typeCount; i++) {
+				int length = buffer.get() & 0xFF;
+				buffer.get(name, 0, length);
+				try {
+					types[i] = Obstacle.valueOf(new String(name, 0, length, StandardCharsets.US_ASCII));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Unknown obstacle type in level file: " + new String(name, 0, length, StandardCharsets.US_ASCII));
+				}
+			}
+
+			// Read the runs in each column
+			LevelGrid grid = new LevelGrid(width, height);
+			for (int x = 0; x < width; x++) {
+				int y = 0;
+				while (y < height) {
+					int length = buffer.get() & 0xFF;
+					int index = buffer.get() & 0xFF;
+					if (length == 0 || y + length > height || (index != emptyIndex && index >= typeCount)) {
+						throw new IOException("Corrupt level file at column " + x);
+					}
+					if (index != emptyIndex) {
+						Obstacle obstacle = types[index];
+						for (int end = y + length; y < end; y++) {
+							grid.set(x, y, obstacle);
+						}
+					} else {
+						y += length; // The grid is already empty
+					}
+				}
+			}
+			return new LoadedLevel(grid, flags);
+		} catch (BufferUnderflowException e) {
+			throw new IOException("Level file ended unexpectedly", e);
+		}
+	}
+
+	/** Method Name: write()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Writes a level in the binary format
+	 * @Parameters
+	 *      - LevelGrid grid: the obstacles in the level
+	 *      - int flags: the flags to store in the header (AUTOTILED if the grid has already been autotiled)
+	 *      - OutputStream out: the stream to write to, which is not closed
+	 * @Returns N/A
+	 * Data Type: LevelGrid, int, Obstacle, DataOutputStream
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if the stream can't be written to
+	 */
+	public static void write(LevelGrid grid, int flags, OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		Obstacle[] types = Obstacle.values();
+
+		// Header
+		data.write(magic);
+		data.writeShort(version);
+		data.writeShort(flags);
+		data.writeInt(grid.width);
+		data.writeInt(grid.height);
+
+		// Obstacle table, in ordinal order
+		data.writeShort(types.length);
+		for (Obstacle type: types) {
+			byte[] name = type.name().getBytes(StandardCharsets.US_ASCII);
+			data.writeByte(name.length);
+			data.write(name);
+		}
+
+		// Runs in each column
+		for (int x = 0; x < grid.width; x++) {
+			int y = 0;
+			while (y < grid.height) {
+				byte kind = grid.kind(x, y);
+				int length = 1;
+				while (y + length < grid.height && length < maxRunLength && grid.kind(x, y + length) == kind) {
+					length++;
+				}
+				data.writeByte(length);
+				data.writeByte(kind == LevelGrid.EMPTY ? emptyIndex : kind);
+				y += length;
+			}
+		}
+		data.flush();
+	}
+
+	/** Method Name: main()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Converts a text level file to the binary format. Usage: BinaryLevelFormat input.txt output.level [--no-autotile]
+	 * The squares are autotiled before writing unless --no-autotile is given.
+	 * @Parameters
+	 *      - String[] args: the input file, the output file and optionally --no-autotile
+	 * @Returns N/A
+	 * Data Type: String, LevelGrid
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if either file can't be accessed
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.out.println("Usage: BinaryLevelFormat input.txt output" + extension + " [--no-autotile]");
+			return;
+		}
+		boolean autotile = !(args.length > 2 && args[2].equals("--no-autotile"));
+
+		LevelGrid grid;
+		try (InputStream in = new FileInputStream(args[0])) {
+			grid = new LevelReader(in).read();
+		}
+		if (autotile) {
+			Autotiler.autotile(grid);
+		}
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(args[1]))) {
+			write(grid, autotile ? AUTOTILED : 0, out);
+		}
+		System.out.println("Converted " + args[0] + " (" + grid.width + "x" + grid.height + ") to " + args[1]);
+	}
+}
@@ -1,8 +1,9 @@
 package xyz.colintoft.shapesprint;
 
 import java.awt.Color;
-
-import xyz.colintoft.cgraphics.Util;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
 
 /**
 ***********************************************
@@ -22,8 +23,9 @@ public class Level {
 	public double practiceProgress = 0; // The user's highest progress for this level in practice mode (from 0 to 1, where 1 means they have completed the level)
 	public double musicOffset; // The delay in seconds that happens before starting the music 
 	
-	public Obstacle[][] obstacles; // A 2D array of obstacles that make up the level
+	public LevelGrid obstacles; // The grid of obstacles that make up the level
 	public int width, height; // The width and height of this level in blocks
+	public SkylineIndex skyline; // The runs of solid blocks in each column, used to quickly find the ground and ceiling around the player
 	
 	/** Method Name: Level()
 	 * @Author Colin Toft
@@ -128,174 +130,54 @@ public class Level {
 	/** Method Name: load()
 	 * @Author Colin Toft
 	 * @Date December 31st, 2019
-	 * @Modified N/A
-	 * @Description Loads the level data from a file into the 2D array of obstacles
+	 * @Modified October 18th, 2026
+	 * @Description Loads the level data from a file into the grid of obstacles, and builds the skyline index of solid blocks.
+	 * Files ending in BinaryLevelFormat.extension are read as binary levels, and any other file is read as a text level.
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: String, int, Obstacle
+	 * Data Type: InputStream, URL, LevelGrid, boolean
 	 * Dependencies: N/A
-	 * Throws/Exceptions: N/A
+	 * Throws/Exceptions: Prints an error and loads an empty level if the file can't be read
 	 */
 	public void load() {
-		// Get a list of each line in the file (each obstacle is on its own line)
-		String[] lines = Util.readLinesFromFile(getClass(), "/levels/" + filename);
-		
-		// First find the necessary width and height based on the largest x and y values
-		width = 0;
-		height = 0;
-		int x, y;
-		String[] values;
-		// Loop through the list and look at the x and y values of each obstacle. If it is outside the current width or height, make that dimension larger
-		for (String line: lines) {
-			if (line.length() > 0 && Character.isDigit(line.charAt(0))) { // Make sure the line is valid
-				values = line.split(" ");
-				x = Integer.valueOf(values[0]);
-				y = Integer.valueOf(values[1]);
-				if (x > width) {
-					width = x;
-				}
-				if (y > height) {
-					height = y;
+		obstacles = null;
+		boolean autotiled = false; // Whether the squares in the file have already been autotiled
+		if (filename.endsWith(BinaryLevelFormat.extension)) {
+			// Binary levels are memory mapped when they are on disk
+			URL resource = getClass().getResource("/levels/" + filename);
+			if (resource != null) {
+				try {
+					BinaryLevelFormat.LoadedLevel loaded = BinaryLevelFormat.load(resource);
+					obstacles = loaded.grid;
+					autotiled = loaded.isAutotiled();
+				} catch (IOException e) {
+					e.printStackTrace();
 				}
 			}
-		}
-		
-		width++;
-		height++;
-		
-		// Create the obstacles array with the width and height of this level
-		obstacles = new Obstacle[width][height];
-		
-		// Now, read the coordinates and type of each obstacle and store it in the 2D array for the level
-		for (String line: lines) {
-			if (line.length() > 0 && Character.isDigit(line.charAt(0))) { // Make sure the line is valid
-				values = line.split(" ");
-				x = Integer.valueOf(values[0]);
-				y = Integer.valueOf(values[1]);
-				obstacles[x][y] = Obstacle.fromString(values[2]);
-				
-				// TODO delete this
-				if (obstacles[x][y] == null) {
-					System.out.println("Null obstacle at " + x + " " + y);
+		} else {
+			// Read every obstacle in the text file into a grid that is just large enough to hold them
+			InputStream in = getClass().getResourceAsStream("/levels/" + filename);
+			if (in != null) {
+				try (in) {
+					obstacles = new LevelReader(in).read();
+				} catch (IOException e) {
+					e.printStackTrace();
 				}
 			}
 		}
+		if (obstacles == null) {
+			System.out.println("Unable to load level: " + filename);
+			obstacles = new LevelGrid(1, 1); // Use an empty level so that the game can keep running
+		}
+		width = obstacles.width;
+		height = obstacles.height;
 		
-		// Go through the squares and assign them to the right square type based on their neighbors
-		for (x = 0; x < width; x++) {
-			for (y = 0; y < height; y++) {
-				if (obstacles[x][y] != null && obstacles[x][y].isSolid()) { // First make sure there is a square in this location
-					boolean left, right, up, down, bottomLeft, bottomRight, topLeft, topRight; // The square's neighbors in all directions (true if there is a square in that location, otherwise false)
-					
-					// Look at each block around the obstacle and store if there is a square in that direction or not
-					try {
-						left = obstacles[x - 1][y] != null && obstacles[x - 1][y].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						left = false;
-					}
-					
-					try {
-						right = obstacles[x + 1][y] != null && obstacles[x + 1][y].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						right = false;
-					}
-					
-					try {
-						up = obstacles[x][y + 1] != null && obstacles[x][y + 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						up = false;
-					}
-					
-					try {
-						down = obstacles[x][y - 1] != null && obstacles[x][y - 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						down = false;
-					}
-					
-					try {
-						bottomLeft = obstacles[x - 1][y - 1] != null && obstacles[x - 1][y - 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						bottomLeft = false;
-					}
-					
-					try {
-						bottomRight = obstacles[x + 1][y - 1] != null && obstacles[x + 1][y - 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						bottomRight = false;
-					}
-					
-					try {
-						topLeft = obstacles[x - 1][y + 1] != null && obstacles[x - 1][y + 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						topLeft = false;
-					}
-					
-					try {
-						topRight = obstacles[x + 1][y + 1] != null && obstacles[x + 1][y + 1].isSolid();
-					} catch (ArrayIndexOutOfBoundsException e) {
-						topRight = false;
-					}
-					
-					// Look at the squares neighbors to determine the correct shape
-					if (!left && !right && !up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE;
-					} else if (left && right && !up && down) {
-						if (!bottomLeft) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_BOTTOM_LEFT_LINE_TOP;
-						} else if (!bottomRight) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_BOTTOM_RIGHT_LINE_TOP;
-						} else {
-							obstacles[x][y] = Obstacle.SQUARE_TOP_1;
-						}
-					} else if (left && right && up && !down) {
-						if (!topLeft && !topRight) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_TOP_LEFT_TOP_RIGHT_LINE_BOTTOM;
-						} else if (!topLeft) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_TOP_LEFT_LINE_BOTTOM;
-						} else if (!topRight) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_TOP_RIGHT_LINE_BOTTOM;
-						} else {
-							obstacles[x][y] = Obstacle.SQUARE_BOTTOM_1;
-						}
-					} else if (!left && right && up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_LEFT_1;
-					} else if (left && !right && up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_RIGHT_1;
-					} else if (!left && right && !up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_TOP_LEFT;
-					} else if (!left && right && up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_BOTTOM_LEFT;
-					} else if (left && !right && !up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_TOP_RIGHT;
-					} else if (left && !right && up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_BOTTOM_RIGHT;
-					} else if (!left && !right && up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_VERTICAL;
-					} else if (left && right && !up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_HORIZONTAL;
-					} else if (left && !right && !up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_RIGHT_3;
-					} else if (!left && right && !up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_LEFT_3;
-					} else if (!left && !right && up && !down) {
-						obstacles[x][y] = Obstacle.SQUARE_BOTTOM_3;
-					} else if (!left && !right && !up && down) {
-						obstacles[x][y] = Obstacle.SQUARE_TOP_3;
-					} else {
-						if (!bottomLeft) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_BOTTOM_LEFT;
-						} else if (!bottomRight) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_BOTTOM_RIGHT;
-						} else if (!topLeft) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_TOP_LEFT;
-						} else if (!topRight) {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER_TOP_RIGHT;
-						} else {
-							obstacles[x][y] = Obstacle.SQUARE_CENTER;
-						}
-					}
-				}
-			}
+		// Go through the squares and assign them to the right square type based on their neighbors (unless the file already did)
+		if (!autotiled) {
+			Autotiler.autotile(obstacles);
 		}
+		
+		// Index the solid blocks in each column so that the ground and ceiling around the player can be found quickly
+		skyline = new SkylineIndex(obstacles);
 	}
 }
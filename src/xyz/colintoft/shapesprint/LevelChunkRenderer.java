@@ -0,0 +1,260 @@
+package xyz.colintoft.shapesprint;
+
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import xyz.colintoft.cgraphics.TextureAtlas;
+import xyz.colintoft.cgraphics.Util;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Draws the obstacles of a level from pre-rendered chunks instead of drawing every visible block on every frame.
+The level is split into chunks of chunkWidth columns, and each chunk is drawn once into an image at the current block size, so a frame only needs to draw the two or three chunks that are on screen.
+Chunks ahead of the player are rendered on a background thread before they are needed, and the least recently drawn chunks are thrown away once the cached images would use more than the memory budget.
+A new renderer must be created whenever the block size changes.
+***********************************************
+*/
+public class LevelChunkRenderer {
+
+	public static final int chunkWidth = 16; // The number of columns in each chunk
+
+	private static final int margin = 4; // Extra pixels on the top and right of each chunk for obstacle images that are slightly larger than a block
+	private static final int prefetchChunks = 2; // How many chunks past the right edge of the screen are rendered ahead of time
+	private static final int minCachedChunks = 6; // Always keep at least this many chunks, even if they go over the memory budget, so that the chunks on screen are never thrown away
+
+	private final LevelGrid obstacles; // The obstacles of the level
+	private final TextureAtlas atlas; // The images of the obstacles
+	private final int[] regions; // The index of each obstacle type's image in the atlas, indexed by ordinal
+	private final double blockSize; // The size of one block in pixels
+	private final int chunkPixelWidth, chunkPixelHeight; // The size of each chunk's image in pixels
+	private final int chunkCount; // The number of chunks in the level
+	private final int maxCachedChunks; // The number of chunks that fit in the memory budget
+
+	private final Map<Integer, FutureTask<BufferedImage>> chunks; // The cached chunks by index, from least to most recently drawn (guarded by itself)
+	private final ExecutorService prefetcher; // The background thread that renders chunks before they are on screen
+
+	/** Method Name: LevelChunkRenderer()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Creates a renderer for the given level at the given block size. No chunks are rendered until they are needed.
+	 * @Parameters
+	 *      - LevelGrid obstacles: the obstacles of the level
+	 *      - TextureAtlas atlas: the images of the obstacles, scaled to the block size
+	 *      - int[] regions: the index of each obstacle type's image in the atlas, indexed by ordinal
+	 *      - double blockSize: the size of one block in pixels
+	 *      - long memoryBudget: roughly how many bytes the cached chunk images may use
+	 * @Returns N/A
+	 * Data Type: LevelGrid, TextureAtlas, int, double, long, LinkedHashMap, ExecutorService
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	public LevelChunkRenderer(LevelGrid obstacles, TextureAtlas atlas, int[] regions, double blockSize, long memoryBudget) {
+		this.obstacles = obstacles;
+		this.atlas = atlas;
+		this.regions = regions;
+		this.blockSize = blockSize;
+
+		chunkPixelWidth = (int) Math.ceil(chunkWidth * blockSize) + margin;
+		chunkPixelHeight = (int) Math.ceil(obstacles.height * blockSize) + margin;
+		chunkCount = (obstacles.width + chunkWidth - 1) / chunkWidth;
+		long chunkBytes = (long) chunkPixelWidth * chunkPixelHeight * 4;
+		maxCachedChunks = (int) Math.max(minCachedChunks, memoryBudget / chunkBytes);
+
+		// Keep the chunks in the order they were last drawn, and throw away the oldest once there are too many
+		chunks = new LinkedHashMap<Integer, FutureTask<BufferedImage>>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Integer, FutureTask<BufferedImage>> eldest) {
+				if (size() > maxCachedChunks) {
+					eldest.getValue().cancel(false); // Don't bother finishing it if it hasn't been rendered yet
+					return true;
+				}
+				return false;
+			}
+		};
+
+		prefetcher = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "Level Chunk Renderer");
+			thread.setDaemon(true);
+			thread.setPriority(Thread.MIN_PRIORITY); // Drawing the current frame is more important
+			return thread;
+		});
+	}
+
+	/** Method Name: draw()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Draws the obstacles in the given range of columns, then starts rendering the chunks just past the range in the background
+	 * @Parameters
+	 *      - Graphics g: the graphics to draw to
+	 *      - double firstX, lastX: the range of x coordinates (in blocks) that are on screen
+	 *      - int levelLeft: the x coordinate in pixels of the left side of the level (block x = 0)
+	 *      - int levelTop: the y coordinate in pixels of the top of the level (block y = obstacles.height)
+	 * @Returns N/A
+	 * Data Type: Graphics, double, int, BufferedImage
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public void draw(Graphics g, double firstX, double lastX, int levelLeft, int levelTop) {
+		int firstChunk = Math.max(0, (int) Math.floor(firstX / chunkWidth));
+		int lastChunk = Math.min(chunkCount - 1, (int) Math.floor(lastX / chunkWidth));
+
+		for (int i = firstChunk; i <= lastChunk; i++) {
+			BufferedImage image = getChunk(i);
+			if (image != null) {
+				g.drawImage(image, levelLeft + (int) Math.round(i * chunkWidth * blockSize), levelTop - margin, null);
+			}
+		}
+
+		// The player only moves right, so get the next chunks ready before they come on screen
+		for (int i = lastChunk + 1; i <= lastChunk + prefetchChunks && i < chunkCount; i++) {
+			prefetch(i);
+		}
+	}
+
+	/** Method Name: getChunk()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns the image of a chunk, rendering it on this thread if the background thread has not already done so
+	 * @Parameters
+	 *      - int index: the index of the chunk
+	 * @Returns The image of the chunk, or null if it could not be rendered
+	 * Data Type: int, FutureTask, BufferedImage
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	private BufferedImage getChunk(int index) {
+		FutureTask<BufferedImage> task = findOrCreate(index);
+		task.run(); // Does nothing if the chunk has already been rendered or is being rendered on the other thread
+		try {
+			return task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			e.printStackTrace();
+		} catch (CancellationException e) {
+			// The chunk was thrown away before it was rendered, so render it again
+			synchronized (chunks) {
+				chunks.remove(index);
+			}
+			return getChunk(index);
+		}
+		return null;
+	}
+
+	/** Method Name: prefetch()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Starts rendering a chunk on the background thread if it isn't already cached
+	 * @Parameters
+	 *      - int index: the index of the chunk
+	 * @Returns N/A
+	 * Data Type: int, FutureTask
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	private void prefetch(int index) {
+		FutureTask<BufferedImage> task;
+		synchronized (chunks) {
+			if (chunks.containsKey(index) || prefetcher.isShutdown()) {
+				return;
+			}
+			task = findOrCreate(index);
+		}
+		try {
+			prefetcher.execute(task);
+		} catch (RejectedExecutionException e) {
+			// The renderer was disposed while this frame was being drawn, so the chunk will be rendered on this thread if it is ever needed
+		}
+	}
+
+	private FutureTask<BufferedImage> findOrCreate(int index) {
+		synchronized (chunks) {
+			FutureTask<BufferedImage> task = chunks.get(index);
+			if (task == null) {
+				task = new FutureTask<>(() -> renderChunk(index));
+				chunks.put(index, task);
+			}
+			return task;
+		}
+	}
+
+	/** Method Name: renderChunk()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Draws every obstacle in a chunk into a new image, in the same order and positions that they would be drawn on the screen
+	 * @Parameters
+	 *      - int index: the index of the chunk
+	 * @Returns The image of the chunk
+	 * Data Type: int, byte, BufferedImage, Graphics2D, TextureAtlas
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	private BufferedImage renderChunk(int index) {
+		BufferedImage image = Util.getEmptyImage(chunkPixelWidth, chunkPixelHeight, false);
+		Graphics2D g = image.createGraphics();
+
+		int yellowPadUpsideDown = Obstacle.YELLOW_PAD_UPSIDE_DOWN.ordinal();
+		int startX = index * chunkWidth;
+		int endX = Math.min(startX + chunkWidth, obstacles.width);
+		for (int x = startX; x < endX; x++) {
+			int pixelX = (int) Math.round((x - startX) * blockSize);
+			for (int y = 0; y < obstacles.height; y++) {
+				byte kind = obstacles.kind(x, y);
+				if (kind != LevelGrid.EMPTY) {
+					int region = regions[kind];
+					if (kind == yellowPadUpsideDown) {
+						// Upside down pads hang from the top of the block
+						atlas.draw(g, region, pixelX, pixelYOf(y + 1));
+					} else {
+						// Everything else sits on the bottom of the block
+						atlas.draw(g, region, pixelX, pixelYOf(y) - atlas.getHeight(region));
+					}
+				}
+			}
+		}
+		g.dispose();
+		return image;
+	}
+
+	/** Returns the y coordinate in a chunk's image of the bottom of the block at the given y coordinate. */
+	private int pixelYOf(int blockY) {
+		return margin + (int) Math.round((obstacles.height - blockY) * blockSize);
+	}
+
+	/** Method Name: dispose()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Stops the background thread and throws away every cached chunk
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: ExecutorService
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public void dispose() {
+		prefetcher.shutdownNow();
+		synchronized (chunks) {
+			chunks.clear();
+		}
+	}
+}
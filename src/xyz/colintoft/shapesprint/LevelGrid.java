@@ -0,0 +1,156 @@
+package xyz.colintoft.shapesprint;
+
+import java.util.Arrays;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Stores the obstacles of a level as one flat array of bytes, where each byte is the ordinal of an Obstacle (or EMPTY).
+The blocks are stored column by column (all of the y values for x = 0, then x = 1, etc.) since the game looks at the level one column at a time as the player moves right.
+Every accessor returns a sentinel value for coordinates outside of the level instead of throwing an exception.
+***********************************************
+*/
+public class LevelGrid {
+
+	public static final byte EMPTY = -1; // The value stored for a block with no obstacle, and returned for blocks outside of the level
+
+	private static final Obstacle[] obstacleTypes = Obstacle.values(); // Every type of obstacle, indexed by ordinal
+	private static final boolean[] solidTypes = new boolean[obstacleTypes.length]; // Whether each type of obstacle is solid, indexed by ordinal
+
+	static {
+		for (Obstacle o: obstacleTypes) {
+			solidTypes[o.ordinal()] = o.isSolid();
+		}
+	}
+
+	public final int width, height; // The width and height of the level in blocks (height is also the distance between columns in the array)
+	private final byte[] cells; // The ordinal of the obstacle in each block, column by column
+
+	/** Method Name: LevelGrid()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Creates an empty grid with the given dimensions
+	 * @Parameters
+	 *      - int width: the width of the level in blocks
+	 *      - int height: the height of the level in blocks
+	 * @Returns N/A
+	 * Data Type: int, byte
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public LevelGrid(int width, int height) {
+		this.width = width;
+		this.height = height;
+		cells = new byte[width * height];
+		Arrays.fill(cells, EMPTY);
+	}
+
+	/** Method Name: inBounds()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns whether the given coordinates are inside the level
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block
+	 * @Returns True if the block is inside the level, otherwise false
+	 * Data Type: int, boolean
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public boolean inBounds(int x, int y) {
+		return x >= 0 && x < width && y >= 0 && y < height;
+	}
+
+	/** Method Name: kind()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns the ordinal of the obstacle at the given coordinates
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block
+	 * @Returns The ordinal of the Obstacle, or EMPTY if there is no obstacle or the block is outside the level
+	 * Data Type: int, byte
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public byte kind(int x, int y) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			return EMPTY;
+		}
+		return cells[x * height + y];
+	}
+
+	/** Method Name: get()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns the obstacle at the given coordinates
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block
+	 * @Returns The Obstacle, or null if there is no obstacle or the block is outside the level
+	 * Data Type: int, byte, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public Obstacle get(int x, int y) {
+		byte kind = kind(x, y);
+		return kind == EMPTY ? null : obstacleTypes[kind];
+	}
+
+	/** Method Name: is()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns whether the obstacle at the given coordinates is of the given type
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block
+	 *      - Obstacle type: the type of obstacle to compare with
+	 * @Returns True if the block contains that type of obstacle, otherwise false
+	 * Data Type: int, boolean, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public boolean is(int x, int y, Obstacle type) {
+		return kind(x, y) == type.ordinal();
+	}
+
+	/** Method Name: isSolid()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns whether there is a solid obstacle at the given coordinates
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block
+	 * @Returns True if the block contains a solid obstacle, or false if it does not or the block is outside the level
+	 * Data Type: int, byte, boolean
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public boolean isSolid(int x, int y) {
+		byte kind = kind(x, y);
+		return kind != EMPTY && solidTypes[kind];
+	}
+
+	/** Method Name: set()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Places an obstacle in the given block, replacing what was there before
+	 * @Parameters
+	 *      - int x, y: the coordinates of the block, which must be inside the level
+	 *      - Obstacle obstacle: the obstacle to place, or null to make the block empty
+	 * @Returns N/A
+	 * Data Type: int, byte, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: ArrayIndexOutOfBoundsException if the coordinates are outside the level
+	 */
+	public void set(int x, int y, Obstacle obstacle) {
+		if (x < 0 || x >= width || y < 0 || y >= height) {
+			throw new ArrayIndexOutOfBoundsException("(" + x + ", " + y + ") is outside of a " + width + "x" + height + " level");
+		}
+		cells[x * height + y] = obstacle == null ? EMPTY : (byte) obstacle.ordinal();
+	}
+}
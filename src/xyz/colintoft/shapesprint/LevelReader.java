@@ -0,0 +1,178 @@
+package xyz.colintoft.shapesprint;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Reads a level file in a single pass, straight from the bytes of the file.
+Each line of a level file has the x coordinate, y coordinate and abbreviation of one obstacle separated by spaces (for example "12 0 S"), and any line that does not start with a digit is ignored.
+Instead of creating a String for every line, the numbers and abbreviations are parsed directly from a byte buffer and stored in growable arrays (one for each column of the file),
+and the LevelGrid is only created at the end once the width and height of the level are known.
+***********************************************
+*/
+public class LevelReader {
+
+	private static final int bufferSize = 1 << 16; // How many bytes are read from the stream at once
+	private static final int maxCodeLength = 8; // Longer abbreviations are not valid, so only this many characters are kept
+
+	private final InputStream in; // The stream the level is read from
+	private final byte[] buffer = new byte[bufferSize];
+	private int bufferLength = 0, bufferPosition = 0; // The number of bytes in the buffer and the index of the next byte to read
+
+	// The obstacles read so far, stored as one array for each value on a line
+	private int[] xs = new int[1024], ys = new int[1024];
+	private byte[] kinds = new byte[1024]; // The ordinal of each obstacle, or LevelGrid.EMPTY if its abbreviation was not valid
+	private int count = 0; // The number of obstacles read so far
+	private int maxX = 0, maxY = 0; // The largest x and y coordinates read so far
+
+	private final byte[] code = new byte[maxCodeLength]; // The abbreviation of the obstacle currently being read
+
+	/** Method Name: LevelReader()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Creates a reader for the level file in the given stream
+	 * @Parameters
+	 *      - InputStream in: the stream containing the level file
+	 * @Returns N/A
+	 * Data Type: InputStream
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public LevelReader(InputStream in) {
+		this.in = in;
+	}
+
+	/** Method Name: read()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Reads every obstacle in the stream and returns them in a grid just large enough to hold them. Does not close the stream.
+	 * @Parameters N/A
+	 * @Returns The grid of obstacles in the level
+	 * Data Type: int, byte, LevelGrid, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if the stream can't be read
+	 */
+	public LevelGrid read() throws IOException {
+		int c = nextByte();
+		while (c != -1) {
+			if (isDigit(c)) {
+				// Read the x coordinate
+				int x = 0;
+				while (isDigit(c)) {
+					x = x * 10 + (c - '0');
+					c = nextByte();
+				}
+
+				if (c == ' ') {
+					c = nextByte();
+					if (isDigit(c)) {
+						// Read the y coordinate
+						int y = 0;
+						while (isDigit(c)) {
+							y = y * 10 + (c - '0');
+							c = nextByte();
+						}
+
+						// Read the abbreviation, which ends at the next space or the end of the line
+						int codeLength = 0;
+						if (c == ' ') {
+							c = nextByte();
+							while (c != ' ' && c != '\r' && c != '\n' && c != -1) {
+								if (codeLength < maxCodeLength) {
+									code[codeLength] = (byte) c;
+								}
+								codeLength++;
+								c = nextByte();
+							}
+						}
+
+						add(x, y, codeLength <= maxCodeLength ? Obstacle.fromCode(code, 0, codeLength) : null); // An abbreviation that isn't valid leaves the space empty
+					}
+				}
+			}
+
+			// Skip to the start of the next line
+			while (c != '\n' && c != -1) {
+				c = nextByte();
+			}
+			if (c == '\n') {
+				c = nextByte();
+			}
+		}
+
+		// Now that the size of the level is known, put every obstacle into the grid
+		LevelGrid grid = new LevelGrid(maxX + 1, maxY + 1);
+		Obstacle[] types = Obstacle.values();
+		for (int i = 0; i < count; i++) {
+			grid.set(xs[i], ys[i], kinds[i] == LevelGrid.EMPTY ? null : types[kinds[i]]);
+		}
+		return grid;
+	}
+
+	/** Method Name: add()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Stores one obstacle, making the arrays larger if they are full
+	 * @Parameters
+	 *      - int x, y: the coordinates of the obstacle
+	 *      - Obstacle obstacle: the obstacle, or null if its abbreviation was not valid
+	 * @Returns N/A
+	 * Data Type: int, byte, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	private void add(int x, int y, Obstacle obstacle) {
+		if (count == xs.length) {
+			int newLength = xs.length * 2;
+			xs = Arrays.copyOf(xs, newLength);
+			ys = Arrays.copyOf(ys, newLength);
+			kinds = Arrays.copyOf(kinds, newLength);
+		}
+		xs[count] = x;
+		ys[count] = y;
+		kinds[count] = obstacle == null ? LevelGrid.EMPTY : (byte) obstacle.ordinal();
+		count++;
+
+		if (x > maxX) {
+			maxX = x;
+		}
+		if (y > maxY) {
+			maxY = y;
+		}
+	}
+
+	/** Method Name: nextByte()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Returns the next byte of the stream, refilling the buffer when it runs out
+	 * @Parameters N/A
+	 * @Returns The next byte (from 0 to 255), or -1 at the end of the stream
+	 * Data Type: int, byte
+	 * Dependencies: N/A
+	 * Throws/Exceptions: IOException if the stream can't be read
+	 */
+	private int nextByte() throws IOException {
+		if (bufferPosition == bufferLength) {
+			bufferLength = in.read(buffer, 0, buffer.length);
+			bufferPosition = 0;
+			if (bufferLength <= 0) {
+				bufferLength = 0;
+				return -1;
+			}
+		}
+		return buffer[bufferPosition++] & 0xFF;
+	}
+
+	private static boolean isDigit(int c) {
+		return c >= '0' && c <= '9';
+	}
+}
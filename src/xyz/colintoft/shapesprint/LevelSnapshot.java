@@ -0,0 +1,30 @@
+package xyz.colintoft.shapesprint;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description A copy of everything LevelView needs to draw one frame, taken at the end of an update. Snapshots are passed from the update thread to the drawing thread through a TripleBuffer,
+and are never changed while they are being drawn.
+***********************************************
+*/
+class LevelSnapshot {
+
+	double playerX, playerY; // The player's coordinates in blocks
+	double prevPlayerX, prevPlayerY; // The player's coordinates in blocks before the update that created this snapshot
+	double playerRotation; // The player's rotation in radians
+	double groundHeight; // Fraction of the height of the screen that the ground takes up
+	double prevGroundHeight; // The ground height before the update that created this snapshot
+	long updateTime; // The time (from System.nanoTime()) that this state belongs to, which drawing interpolates from the previous state to this one after
+
+	boolean triangleMode; // Whether the player is in triangle mode
+	boolean upsideDownMode; // Whether the player is in upside down mode
+	boolean practiceMode; // Whether the level is being played in practice mode
+	boolean hasDied; // Whether the player has died
+	boolean hasBeatLevel; // Whether the player has beat the level
+	double winTimer; // Time in seconds since the player beat the level
+
+	double checkpointX, checkpointY; // The coordinates of the most recent practice mode checkpoint, in blocks
+	double prevCheckpointX, prevCheckpointY; // The coordinates of the previous practice mode checkpoint, in blocks
+}
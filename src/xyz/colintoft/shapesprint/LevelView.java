@@ -5,18 +5,17 @@ import java.awt.Color;
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.event.KeyEvent;
-import java.awt.geom.AffineTransform;
-import java.awt.geom.Area;
-import java.awt.geom.Ellipse2D;
-import java.awt.geom.GeneralPath;
-import java.awt.geom.Rectangle2D;
-import java.awt.geom.Ellipse2D.Double;
-import java.awt.image.AffineTransformOp;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
 
 import javax.sound.sampled.Clip;
 
+import xyz.colintoft.cgraphics.AssetManager;
+import xyz.colintoft.cgraphics.AssetManifest;
+import xyz.colintoft.cgraphics.Collision;
+import xyz.colintoft.cgraphics.MusicPlayer;
+import xyz.colintoft.cgraphics.RotationSpriteCache;
+import xyz.colintoft.cgraphics.TextureAtlas;
+import xyz.colintoft.cgraphics.TripleBuffer;
 import xyz.colintoft.cgraphics.Util;
 import xyz.colintoft.cgraphics.components.Drawable;
 import xyz.colintoft.shapesprint.scenes.PlayLevel;
@@ -25,7 +24,7 @@ import xyz.colintoft.shapesprint.scenes.PlayLevel;
 ***********************************************
 @Author Colin Toft
 @Date December 30th, 2019
-@Modified December 31st, January 7th, 8th, 9th, 10th, 13th, 14th, 15th, 16th, 17th, 18th, 19th, 21st, 22nd & 23nd, 2020
+@Modified December 31st, January 7th, 8th, 9th, 10th, 13th, 14th, 15th, 16th, 17th, 18th, 19th, 21st, 22nd & 23nd, 2020, October 18th, 2026
 @Description A class that renders the level to the screen, including backgrounds, obstacles and the player, as well as playing the game music.
 ***********************************************
 */
@@ -53,6 +52,12 @@ public class LevelView extends Drawable {
 	private double playerY = 0; // The player's y coordinate in blocks (0 is ground level)
 	private double lastGroundY = 0; // The y coordinate of the last time the player was on the ground (in blocks)
 	
+	private double prevPlayerX = playerX; // The player's x coordinate before the most recent update, used to interpolate drawing between updates
+	private double prevPlayerY = playerY; // The player's y coordinate before the most recent update, used to interpolate drawing between updates
+	private double prevGroundHeight = groundHeight; // The ground height before the most recent update, used to interpolate drawing between updates
+	private double drawPlayerX, drawPlayerY, drawGroundHeight; // The interpolated player coordinates and ground height of the frame currently being drawn
+	private final TripleBuffer<LevelSnapshot> states = new TripleBuffer<>(LevelSnapshot::new); // Passes the state of the level from the update thread to the drawing thread
+	
 	private boolean hasDied = false; // Whether or not the player has died
 	private double deathTimer = 0; // A timer that counts up in seconds after the player has died
 	public boolean hasBeatLevel = false; // Whether or not the player has beat the level
@@ -95,18 +100,23 @@ public class LevelView extends Drawable {
 	private BufferedImage backgroundImage, groundImage, ceilingImage; // Images for the background of the level
 	private BufferedImage checkpointImage; // Image for the practice mode checkpoints
 	private double triangleImagePadding = 0.5 * playerWidth; // How much padding to put around the triangle image (needed so that rotation doesn't cut off the image)
+	private int playerRotationFrames = 90; // How many rotations of each player image are pre-rendered
+	private RotationSpriteCache playerCircleSprites, playerTriangleSprites, playerTriangleUpsideDownSprites; // The player images pre-rendered at each rotation
 		
-	HashMap<Obstacle, BufferedImage> images; // A Hashmap that matches an Obstacle type to its corresponding image
+	private TextureAtlas obstacleAtlas; // Every obstacle image, packed into a single image
+	private int[] obstacleRegions; // The index of each obstacle type's image in the atlas, indexed by ordinal
+	private LevelChunkRenderer chunkRenderer; // Draws the obstacles from pre-rendered chunks of the level
+	private final long chunkMemoryBudget = 64L * 1024 * 1024; // Roughly how many bytes the pre-rendered chunks of the level may use
 	
-	private Clip music; // The music for this level
-	private Clip practiceMusic; // The practice mode music
+	private MusicPlayer music; // The music for this level, streamed from its file since songs are long
+	private MusicPlayer practiceMusic; // The practice mode music
 	private Clip deathSound; // The sound that plays when the player is killed
 	private Clip winSound; // The sound that plays when the player completes the level
 	
 	/** Method Name: LevelView()
 	 * @Author Colin Toft
 	 * @Date December 30th, 2019
-	 * @Modified Jauary 9th, 2020
+	 * @Modified Jauary 9th, 2020, October 18th, 2026
 	 * @Description Creates a new LevelView object
 	 * @Parameters
 	 *      - double x: the x coordinate of this object (as a percentage of the parent panel's width)
@@ -115,7 +125,7 @@ public class LevelView extends Drawable {
 	 *      - double height: the height of this object (as a percentage of the parent panel's height)
 	 *      - Level level: the level to play
 	 * @Returns N/A
-	 * Data Type: Drawable, Color, Boolean, Level, Clip
+	 * Data Type: Drawable, Color, Boolean, Level, Clip, MusicPlayer
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
@@ -128,10 +138,12 @@ public class LevelView extends Drawable {
 		this.level = level;
 		
 		// Load Music
-		music = Util.getAudioClip(getClass(), level.musicFile);
-		practiceMusic = Util.getAudioClip(getClass(), "AsItShouldBeLoop.wav");
+		music = Util.getMusicPlayer(getClass(), level.musicFile);
+		practiceMusic = Util.getMusicPlayer(getClass(), "AsItShouldBeLoop.wav");
 		deathSound = Util.getAudioClip(getClass(), "explodeSound.wav");
 		winSound = Util.getAudioClip(getClass(), "levelCompleteSound.wav");
+		
+		publishState(); // Make sure there is something to draw before the first update
 	}
 	
 	/** Method Name: LevelView()
@@ -151,22 +163,45 @@ public class LevelView extends Drawable {
 		this(0, 0, 1, 1, level);
 	}
 	
+	/** Method Name: addAssets()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Adds the images and sound effects that a LevelView uses to play the given level to a manifest, so that they can be loaded before the level starts.
+	 * The music isn't added, since it is streamed from its file while it plays instead of being loaded
+	 * @Parameters
+	 *      - AssetManifest assets: the manifest to add the assets to
+	 *      - Level level: the level that will be played
+	 * @Returns N/A
+	 * Data Type: AssetManifest, Level, Obstacle
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	public static void addAssets(AssetManifest assets, Level level) {
+		assets.addImages("backgrounds/background1classic.png", "backgrounds/ground1.png", "backgrounds/ceiling1.png", "other/checkpoint.png");
+		assets.addImages("players/PlayerCircle.png", "players/playerTriangle.png", "players/playerTriangleUpsideDown.png");
+		for (Obstacle type: Obstacle.values()) {
+			assets.addImages(type.getImageFilename());
+		}
+		assets.addSounds("explodeSound.wav", "levelCompleteSound.wav");
+	}
+	
 	/** Method Name: generateImage()
 	 * @Author Colin Toft
 	 * @Date December 30th, 2019
-	 * @Modified January 9th & 16th, 2020
-	 * @Description Overrides Drawable.generateImage(): loads the images needed to display the level (background, ground, ceiling, obstacles and checkpoints)
+	 * @Modified January 9th & 16th, 2020, October 18th, 2026
+	 * @Description Overrides Drawable.generateImage(): loads the images needed to display the level (background, ground, ceiling, player, obstacles and checkpoints), pre-renders the player at each rotation and creates the chunk renderer for the obstacles
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: BufferedImage, Graphics, Color, int, Hashmap, Obstacle
+	 * Data Type: BufferedImage, Graphics, Color, int, AssetManager, TextureAtlas, Obstacle, RotationSpriteCache, LevelChunkRenderer
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	@Override
 	public void generateImage() {
 		// Load Background Image
-		BufferedImage originalBackground = Util.loadImageFromFile(getClass(), "backgrounds/background1classic.png");
-		backgroundImage = Util.scaleImage(originalBackground, pixelWidth(), pixelWidth());
+		BufferedImage originalBackground = AssetManager.getImage("backgrounds/background1classic.png");
+		backgroundImage = Util.scaleImage(originalBackground, pixelWidth(), pixelWidth()); // A copy of its own, since the background color is drawn over it
 		
 		// Lay the background color over the background image
 		Graphics g = backgroundImage.createGraphics();
@@ -177,7 +212,7 @@ public class LevelView extends Drawable {
 	    
 	    // Load Ground Image
 		groundTileWidth = (int)(pixelHeight() * groundHeight);
-		BufferedImage groundTile = Util.loadImageFromFile(getClass(), "backgrounds/ground1.png");
+		BufferedImage groundTile = AssetManager.getImage("backgrounds/ground1.png");
 		
 		// Draw the ground tile image multiple times to fill up the ground image
 		groundImage = Util.getEmptyImage((pixelWidth() / groundTileWidth + 2) * groundTileWidth, groundTileWidth);
@@ -194,7 +229,7 @@ public class LevelView extends Drawable {
 	    g.dispose();
 		
 		// Load Ceiling Image
-		BufferedImage ceilingTile = Util.loadImageFromFile(getClass(), "backgrounds/ceiling1.png");
+		BufferedImage ceilingTile = AssetManager.getImage("backgrounds/ceiling1.png");
 		
 		// Draw the ceiling tile image multiple times to fill up the ceiling image
 		ceilingImage = Util.getEmptyImage((pixelWidth() / groundTileWidth + 2) * groundTileWidth, groundTileWidth);
@@ -211,57 +246,94 @@ public class LevelView extends Drawable {
 	    g.dispose();
 	    
 	    // Load player circle image
-		BufferedImage originalPlayerImage = Util.loadImageFromFile(getClass(), "players/PlayerCircle.png");
-		playerCircleImage = Util.scaleImage(originalPlayerImage, (int)(getBlockSize() * playerWidth), (int)(getBlockSize() * playerWidth), false);
+		playerCircleImage = AssetManager.getScaledImage("players/PlayerCircle.png", (int)(getBlockSize() * playerWidth), (int)(getBlockSize() * playerWidth));
 		
 		// Load player triangle image
-		originalPlayerImage = Util.loadImageFromFile(getClass(), "players/PlayerTriangle.png");
+		BufferedImage originalPlayerImage = AssetManager.getImage("players/playerTriangle.png");
 		// Use a larger image in order to add padding around the triangle image
 		playerTriangleImage = Util.getEmptyImage((int)(getBlockSize() * (1.5 * playerWidth + triangleImagePadding * 2)), (int)(getBlockSize() * (1 * playerWidth + triangleImagePadding * 2)));
 		g = playerTriangleImage.createGraphics();
 		g.drawImage(originalPlayerImage, (int)(getBlockSize() * triangleImagePadding), (int)(getBlockSize() * triangleImagePadding), (int)(getBlockSize() * 1.5 * playerWidth), (int)(getBlockSize() * playerWidth), null);
 		
 		// Load player upside down triangle image
-		originalPlayerImage = Util.loadImageFromFile(getClass(), "players/playerTriangleUpsideDown.png");
+		originalPlayerImage = AssetManager.getImage("players/playerTriangleUpsideDown.png");
 		// Use a larger image in order to add padding around the triangle images
 		playerTriangleUpsideDownImage = Util.getEmptyImage((int)(getBlockSize() * (1.5 * playerWidth + triangleImagePadding * 2)), (int)(getBlockSize() * (1 * playerWidth + triangleImagePadding * 2)));
 		g = playerTriangleUpsideDownImage.createGraphics();
 		g.drawImage(originalPlayerImage, (int)(getBlockSize() * triangleImagePadding), (int)(getBlockSize() * triangleImagePadding), (int)(getBlockSize() * 1.5 * playerWidth), (int)(getBlockSize() * playerWidth), null);
 		
+		// Pre-render every player image at each rotation so that drawing the player doesn't need to rotate an image every frame
+		cachePlayerRotations();
+		
 		// Load Obstacle Images
-		images = new HashMap<Obstacle, BufferedImage>();
+		obstacleAtlas = new TextureAtlas();
+		obstacleRegions = new int[Obstacle.values().length];
 		BufferedImage image;
-		// Loop through each obstacle type and put its corresponding image in the hashmap
+		// Loop through each obstacle type and pack its scaled image into the atlas, remembering where it was put
 		for (Obstacle type: Obstacle.values()) {
-			image = Util.loadImageFromFile(getClass(), type.getImageFilename());
-			image = Util.scaleImage(image, (getBlockSize() + 1) / image.getWidth());
-			images.put(type, image);
+			image = AssetManager.getImage(type.getImageFilename());
+			image = AssetManager.getScaledImage(type.getImageFilename(), (getBlockSize() + 1) / image.getWidth());
+			obstacleRegions[type.ordinal()] = obstacleAtlas.add(image);
+		}
+		obstacleAtlas.build();
+		
+		// Obstacles are drawn from chunks that were pre-rendered at the old block size, so start again with new ones
+		if (chunkRenderer != null) {
+			chunkRenderer.dispose();
 		}
+		chunkRenderer = new LevelChunkRenderer(level.obstacles, obstacleAtlas, obstacleRegions, getBlockSize(), chunkMemoryBudget);
 		
 		// Load checkpoint image
-		checkpointImage = Util.loadImageFromFile(getClass(), "other/checkpoint.png");
-		checkpointImage = Util.scaleImage(checkpointImage, getBlockSize() * 0.5 / checkpointImage.getWidth());
+		checkpointImage = AssetManager.getImage("other/checkpoint.png");
+		checkpointImage = AssetManager.getScaledImage("other/checkpoint.png", getBlockSize() * 0.5 / checkpointImage.getWidth());
 		
 		super.generateImage();
 	}
 	
+	/** Method Name: cachePlayerRotations()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Pre-renders each player image at every rotation, so that draw() only needs to draw the closest one
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: RotationSpriteCache, BufferedImage, int
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	private void cachePlayerRotations() {
+		playerCircleSprites = new RotationSpriteCache(playerCircleImage, playerRotationFrames);
+		playerTriangleSprites = new RotationSpriteCache(playerTriangleImage, playerRotationFrames);
+		playerTriangleUpsideDownSprites = new RotationSpriteCache(playerTriangleUpsideDownImage, playerRotationFrames);
+	}
+	
 	/** Method Name: draw()
 	 * @Author Colin Toft
 	 * @Date December 30th, 2019
-	 * @Modified January 8th, 9th, 13th, 14th & 15th, 2020
+	 * @Modified January 8th, 9th, 13th, 14th & 15th, 2020, October 18th, 2026
 	 * @Description Overrides Drawable.draw(): draws the level and player to the screen
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: BufferedImage, Graphics, int, boolean, BasicStroke, Color, double, AffineTransform, Obstacle
+	 * Data Type: BufferedImage, Graphics, int, boolean, BasicStroke, Color, double, RotationSpriteCache, LevelChunkRenderer
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	@Override
 	public void draw(Graphics g) {
 		Graphics2D g2d = (Graphics2D) g; // Convert the Graphics object to Graphics2D in order to use extra commands
+		
+		// Draw from the most recently published state, which the update thread will not change while this frame is being drawn
+		LevelSnapshot state = states.read();
+		
+		// Blend between the previous and current update so that movement stays smooth when drawing faster than updating
+		double alpha = getGame().getInterpolation(state.updateTime); // Worked out from the time this state belongs to, so it always matches the positions being blended
+		drawPlayerX = state.prevPlayerX + (state.playerX - state.prevPlayerX) * alpha;
+		drawPlayerY = state.prevPlayerY + (state.playerY - state.prevPlayerY) * alpha;
+		drawGroundHeight = state.prevGroundHeight + (state.groundHeight - state.prevGroundHeight) * alpha;
+		double playerRotation = state.playerRotation;
 	    
 		// First draw the background image
-		int backgroundX = (int)(-getBlockSize() * (playerX * backgroundSpeed % (backgroundImage.getWidth() / getBlockSize()))); // Calculate the correct position using the player's x coordinate
+		int backgroundX = (int)(-getBlockSize() * (drawPlayerX * backgroundSpeed % (backgroundImage.getWidth() / getBlockSize()))); // Calculate the correct position using the player's x coordinate
 		if (backgroundX > 0) {
 			backgroundX -= backgroundImage.getWidth();
 	    }
@@ -270,101 +342,76 @@ public class LevelView extends Drawable {
 	    g2d.drawImage(backgroundImage, backgroundX + backgroundImage.getWidth(), pixelHeight() - backgroundImage.getHeight(), null);
 	    
 	    // Draw the ground
-	    int groundX = (int)(-getBlockSize() * (playerX % (groundTileWidth / getBlockSize()))); // Calculate the correct position using the player's x coordinate
+	    int groundX = (int)(-getBlockSize() * (drawPlayerX % (groundTileWidth / getBlockSize()))); // Calculate the correct position using the player's x coordinate
 	    if (groundX > 0) {
 	    	groundX -= groundTileWidth;
 	    }
 	    
-	    g2d.drawImage(groundImage, groundX, (int)(pixelHeight() * (1 - groundHeight)), null);
+	    g2d.drawImage(groundImage, groundX, (int)(pixelHeight() * (1 - drawGroundHeight)), null);
 	    
 	    // Draw a white line across the top of the ground
 	    g2d.setStroke(new BasicStroke(2f));
 	    g2d.setColor(Color.WHITE);
-	    g2d.drawLine(0, (int)(pixelHeight() * (1 - groundHeight)) + 2, pixelWidth(), (int)(pixelHeight() * (1 - groundHeight)) + 2);
+	    g2d.drawLine(0, (int)(pixelHeight() * (1 - drawGroundHeight)) + 2, pixelWidth(), (int)(pixelHeight() * (1 - drawGroundHeight)) + 2);
 	    
 	    // Draw the ceiling in the same way if the player is in triangle mode
-	    if (triangleMode || upsideDownMode) {
+	    if (state.triangleMode || state.upsideDownMode) {
 		    g2d.drawImage(ceilingImage, groundX, (int)(pixelHeight() * (0.5 / levelHeight) - ceilingImage.getHeight()), null);
 		    // Draw a white line at the bottom of the ceiling
 		    g2d.drawLine(0, (int)(pixelHeight() * (0.5 / levelHeight)), pixelWidth(), (int)(pixelHeight() * (0.5 / levelHeight)));
 	    }
 	    
 	    // Draw the player
-	    if (!hasDied) {
+	    if (!state.hasDied) {
 	    	int playerImageX, playerImageY;
-	    	if (hasBeatLevel) {
+	    	if (state.hasBeatLevel) {
 	    		// If the player has beat the level, animate their x, y and rotation based on the winTimer
 	    		int beginX = blockXToPixelX(level.width);
 	    		int endX = blockXToPixelX(level.width + levelEndOffset);
-	    		double endProgress = Math.pow(winTimer / winAnimationLength, 2.5);
+	    		double endProgress = Math.pow(state.winTimer / winAnimationLength, 2.5);
 	    		playerRotation = endProgress * Math.PI * 0.7;
 			    playerImageX = (int)(beginX + (endX - beginX) * endProgress);
-				playerImageY = blockYToPixelY(playerY + playerWidth + -7 * (endProgress) * (endProgress - 1.6));
+				playerImageY = blockYToPixelY(drawPlayerY + playerWidth + -7 * (endProgress) * (endProgress - 1.6));
 	    	} else {
 	    		// Calculate the pixel coordinates where the player should be drawn
 	    		playerImageX = (int)(pixelWidth() * playerScreenX);
-	    		playerImageY = blockYToPixelY(playerY + playerWidth);
+	    		playerImageY = blockYToPixelY(drawPlayerY + playerWidth);
 	    	}
 			
-	    	// Rotate the player's image and then draw its to the screen
-	    	if (!hasBeatLevel || playerImageX < blockXToPixelX(level.width + levelEndOffset + playerWidth)) {
-	    		// Create the AffineTransform objects needed to do the rotation
-				AffineTransform backup = g2d.getTransform();
-				AffineTransform rotate;
-				if (triangleMode) {
-					// Rotate the player while accounting for the padding on the triangle image, then draw it the at the previously calculated coordinates
-					rotate = AffineTransform.getRotateInstance(playerRotation, playerTriangleImage.getWidth() / 2.0, playerTriangleImage.getHeight() / 2.0);
-				    AffineTransformOp op = new AffineTransformOp(rotate, AffineTransformOp.TYPE_BILINEAR);
+	    	// Draw the player's image, rotated, to the screen
+	    	if (!state.hasBeatLevel || playerImageX < blockXToPixelX(level.width + levelEndOffset + playerWidth)) {
+				// Draw the pre-rendered frame that is closest to the player's rotation at the previously calculated coordinates
+				if (state.triangleMode) {
+					// Account for the padding around the triangle image
 					int padding = (int)(triangleImagePadding * getBlockSize());
-			    	g2d.drawImage(op.filter(upsideDownMode ? playerTriangleUpsideDownImage : playerTriangleImage, null), playerImageX - padding, playerImageY - padding, null);
+					(state.upsideDownMode ? playerTriangleUpsideDownSprites : playerTriangleSprites).draw(g2d, playerRotation, playerImageX - padding, playerImageY - padding);
 				} else {
-					// Rotate the player then draw it the at the previously calculated coordinates
-					rotate = AffineTransform.getRotateInstance(playerRotation, playerCircleImage.getWidth() / 2.0, playerCircleImage.getHeight() / 2.0);
-				    AffineTransformOp op = new AffineTransformOp(rotate, AffineTransformOp.TYPE_BILINEAR);
-			    	g2d.drawImage(op.filter(playerCircleImage, null), playerImageX, playerImageY, null);
+					playerCircleSprites.draw(g2d, playerRotation, playerImageX, playerImageY);
 				}
-			   
-				// Restore the previous transform so the other images will not appear rotated as well
-			    g2d.setTransform(backup);
 	    	}
 	    }
 	    
-	    // Draw obstacles
-	    Obstacle o;
-	    // Loop through the x and y coordinates that are currently in view
-	    for (int obstacleX = Math.max(0, (int) screenXToBlockX(0)); obstacleX < Math.min((int) screenXToBlockX(1) + 1, level.width); obstacleX++) {
-	    	for (int obstacleY = Math.max(0, (int) screenYToBlockY(1)); obstacleY < Math.min((int) screenYToBlockY(0) + 1, level.height); obstacleY++) {
-    			o = level.obstacles[obstacleX][obstacleY]; // Find the obstacle at those coordinates
-    			if (o != null) {
-    				// If there is an obstacle there, draw it
-    				BufferedImage image = images.get(o);
-    				if (o == Obstacle.YELLOW_PAD_UPSIDE_DOWN) {
-    					g2d.drawImage(image, blockXToPixelX(obstacleX), blockYToPixelY(obstacleY + 1), null);
-    				} else {
-    					g2d.drawImage(image, blockXToPixelX(obstacleX), blockYToPixelY(obstacleY) - image.getHeight(), null);
-    				}
-    			}
-	    	}
-	    }
+	    // Draw the obstacles that are currently in view from the pre-rendered chunks of the level
+	    chunkRenderer.draw(g2d, screenXToBlockX(0), screenXToBlockX(1), blockXToPixelX(0), blockYToPixelY(level.height));
 	    
 	    // Draw the end of the level
 	    if (screenXToBlockX(1) > level.width + levelEndOffset) {
 	    	// Draw a large black wall
 	    	g2d.setColor(Color.BLACK);
-	    	g2d.fillRect(blockXToPixelX(level.width + levelEndOffset), 0, pixelWidth() - blockXToPixelX(level.width + levelEndOffset), (int)(pixelHeight() * Math.min(1, 1 - groundHeight)));
+	    	g2d.fillRect(blockXToPixelX(level.width + levelEndOffset), 0, pixelWidth() - blockXToPixelX(level.width + levelEndOffset), (int)(pixelHeight() * Math.min(1, 1 - drawGroundHeight)));
 	    	// Draw a white line on the left of the wall
 	    	g2d.setColor(Color.WHITE);
-	    	g2d.fillRect(blockXToPixelX(level.width + levelEndOffset), 0, (int)(pixelWidth() * 0.005), (int)(pixelHeight() * Math.min(1, 1 - groundHeight)));
+	    	g2d.fillRect(blockXToPixelX(level.width + levelEndOffset), 0, (int)(pixelWidth() * 0.005), (int)(pixelHeight() * Math.min(1, 1 - drawGroundHeight)));
 	    }
 	    
-	    if (practiceMode) {
+	    if (state.practiceMode) {
 	    	// Draw checkpoints if the game is currently in practice mode
-	    	if (checkpointX > 0) {
-	    		g2d.drawImage(checkpointImage, blockXToPixelX(checkpointX) + (int)(getBlockSize() - checkpointImage.getWidth()) / 2, blockYToPixelY(checkpointY + 1) + (int)(getBlockSize() - checkpointImage.getHeight()) / 2, null);
+	    	if (state.checkpointX > 0) {
+	    		g2d.drawImage(checkpointImage, blockXToPixelX(state.checkpointX) + (int)(getBlockSize() - checkpointImage.getWidth()) / 2, blockYToPixelY(state.checkpointY + 1) + (int)(getBlockSize() - checkpointImage.getHeight()) / 2, null);
 	    	}
 	    	
-	    	if (prevCheckpointX > 0) {
-	    		g2d.drawImage(checkpointImage, blockXToPixelX(prevCheckpointX) + (int)(getBlockSize() - checkpointImage.getWidth()) / 2, blockYToPixelY(prevCheckpointY + 1) + (int)(getBlockSize() - checkpointImage.getHeight()) / 2, null);
+	    	if (state.prevCheckpointX > 0) {
+	    		g2d.drawImage(checkpointImage, blockXToPixelX(state.prevCheckpointX) + (int)(getBlockSize() - checkpointImage.getWidth()) / 2, blockYToPixelY(state.prevCheckpointY + 1) + (int)(getBlockSize() - checkpointImage.getHeight()) / 2, null);
 	    	}
 	    }
 	}
@@ -383,6 +430,11 @@ public class LevelView extends Drawable {
 	 */
 	@Override
 	public void update(double dt) {
+		// Remember where the player was before this update so that drawing can interpolate between the two positions
+		prevPlayerX = playerX;
+		prevPlayerY = playerY;
+		prevGroundHeight = groundHeight;
+		
 		if (!triangleMode) {
 			// If the player is in circle mode, rotate them to simulate rolling along the ground
 			playerRotation += (upsideDownMode ? -playerRotationSpeed : playerRotationSpeed) * dt;
@@ -515,8 +567,10 @@ public class LevelView extends Drawable {
 				stopMusic();
 			}
 			// Play the death sound effect
-			deathSound.setFramePosition(0);
-			deathSound.start();
+			if (deathSound != null) {
+				deathSound.setFramePosition(0);
+				deathSound.start();
+			}
 		}
 		
 		updateMode(); // Updates the players mode to triangle mode or circle mode if they are traveling through a portal
@@ -537,9 +591,12 @@ public class LevelView extends Drawable {
 			deathTimer += dt;
 			if (deathTimer > 1) {
 				// After the death timer has reached one second, start the next attempt
-				deathSound.stop();
+				if (deathSound != null) {
+					deathSound.stop();
+				}
 				startNextAttempt();
 			}
+			publishState();
 			return;
 		}
 		
@@ -552,8 +609,10 @@ public class LevelView extends Drawable {
 				stopMusic();
 			}
 			// Play the win sound
-			winSound.setFramePosition(0);
-			winSound.start();
+			if (winSound != null) {
+				winSound.setFramePosition(0);
+				winSound.start();
+			}
 		}
 		
 		if (hasBeatLevel) {
@@ -569,7 +628,62 @@ public class LevelView extends Drawable {
 			// If the music is not playing, start it
 			startMusic();
 			playerX = Math.max(checkpointX, 0);
+			resetInterpolation();
 		}
+		
+		publishState();
+	}
+	
+	/** Method Name: publishState()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Copies everything that draw() needs into a snapshot and publishes it, so that drawing (which may happen on a different thread) always sees the state of one complete update.
+	 * Must only be called from the thread that updates the level.
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: LevelSnapshot, double, boolean, long
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	private void publishState() {
+		LevelSnapshot state = states.getWriteBuffer();
+		state.playerX = playerX;
+		state.playerY = playerY;
+		state.prevPlayerX = prevPlayerX;
+		state.prevPlayerY = prevPlayerY;
+		state.playerRotation = playerRotation;
+		state.groundHeight = groundHeight;
+		state.prevGroundHeight = prevGroundHeight;
+		state.updateTime = getGame() != null ? getGame().getUpdateTime() : System.nanoTime();
+		state.triangleMode = triangleMode;
+		state.upsideDownMode = upsideDownMode;
+		state.practiceMode = practiceMode;
+		state.hasDied = hasDied;
+		state.hasBeatLevel = hasBeatLevel;
+		state.winTimer = winTimer;
+		state.checkpointX = checkpointX;
+		state.checkpointY = checkpointY;
+		state.prevCheckpointX = prevCheckpointX;
+		state.prevCheckpointY = prevCheckpointY;
+		states.publish();
+	}
+	
+	/** Method Name: resetInterpolation()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Makes the previous player position equal to the current one, so that drawing does not interpolate across a jump in position (such as a respawn)
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: N/A
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	private void resetInterpolation() {
+		prevPlayerX = playerX;
+		prevPlayerY = playerY;
+		prevGroundHeight = groundHeight;
 	}
 	
 	/** Method Name: createCheckpoint()
@@ -621,7 +735,7 @@ public class LevelView extends Drawable {
 	/** Method Name: getMinY()
 	 * @Author Colin Toft
 	 * @Date January 7th, 2020
-	 * @Modified January 19th, 2020
+	 * @Modified January 19th, 2020, October 18th, 2026
 	 * @Description Finds the y coordinate of the ground beneath the player (highest solid obstacle underneath the player)
 	 * @Returns The y coordinate of the ground beneath the player
 	 * Data Type: double, Obstacle, boolean
@@ -634,27 +748,23 @@ public class LevelView extends Drawable {
 		
 		double minY = 0; // The y coordinate of the ground beneath the player
 		
-		// Loop through all obstacles the player could be touching
+		// Look at both columns the player could be touching
 		for (int obstacleX = (int) playerX; obstacleX <= (int) playerX + 1; obstacleX++) {
-			for (int obstacleY = (int)(playerY + playerWidth - 0.00001); obstacleY >= 0; obstacleY--) {
-				try {
-					if (level.obstacles[obstacleX][obstacleY] != null && level.obstacles[obstacleX][obstacleY].isSolid()) { // If there is a solid obstacle at this location
-						double blockMinY;
-						if ((int)playerCenterX == obstacleX) {
-							// If the player's center is on this block, set the minY to the top of this obstacle
-							blockMinY = obstacleY + 1;
-						} else {
-							double cornerX = Math.round(playerX);
-							// Calculate the exact minimum y for the player using math to account for the players circular shape on a corner of a square block
-							blockMinY = obstacleY + 1 - Math.abs(Math.cos(Math.asin((cornerX - playerCenterX) / circleRadius))) * circleRadius;
-						}
-						if (minY < blockMinY) {
-							// If the new calculated minY for this block is higher (closer to the player) than the previous value, store it in the minY variable
-							minY = blockMinY;
-						}
-						break;
-					}
-				} catch (ArrayIndexOutOfBoundsException e) {}
+			int obstacleY = level.skyline.floor(obstacleX, (int)(playerY + playerWidth - 0.00001)); // Find the highest solid obstacle in this column that is not above the player
+			if (obstacleY >= 0) {
+				double blockMinY;
+				if ((int)playerCenterX == obstacleX) {
+					// If the player's center is on this block, set the minY to the top of this obstacle
+					blockMinY = obstacleY + 1;
+				} else {
+					double cornerX = Math.round(playerX);
+					// Calculate the exact minimum y for the player using math to account for the players circular shape on a corner of a square block
+					blockMinY = obstacleY + 1 - Math.abs(Math.cos(Math.asin((cornerX - playerCenterX) / circleRadius))) * circleRadius;
+				}
+				if (minY < blockMinY) {
+					// If the new calculated minY for this block is higher (closer to the player) than the previous value, store it in the minY variable
+					minY = blockMinY;
+				}
 			}
 		}
 		
@@ -664,7 +774,7 @@ public class LevelView extends Drawable {
 	/** Method Name: getMaxY()
 	 * @Author Colin Toft
 	 * @Date January 16th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Finds the y coordinate of the ceiling above the player (lowest solid obstacle above the player)
 	 * @Returns The y coordinate of the ceiling above the player
 	 * Data Type: double, Obstacle, boolean
@@ -677,26 +787,22 @@ public class LevelView extends Drawable {
 		
 		double maxY = (triangleMode || upsideDownMode) ? levelHeight - 1 : 1000000; // The y coordinate of the ceiling or obstacle above the player
 		
-		// Loop through all obstacles the player could be touching
+		// Look at both columns the player could be touching
 		for (int obstacleX = (int) playerX; obstacleX <= (int) playerX + 1; obstacleX++) {
-			for (int obstacleY = (int)(playerY + playerWidth); obstacleY < level.height; obstacleY++) {
-				try {
-					if (level.obstacles[obstacleX][obstacleY] != null && level.obstacles[obstacleX][obstacleY].isSolid()) { // If there is a solid obstacle at this location
-						double blockMaxY;
-						if ((int)playerCenterX == obstacleX) { // If the player's center is on this block, set the maxY to the bottom of this obstacle
-							blockMaxY = obstacleY;
-						} else {
-							double cornerX = Math.round(playerX);
-							// Calculate the exact maximum y for the player using math to account for the players circular shape on a corner of a square block
-							blockMaxY = obstacleY + Math.abs(Math.cos(Math.asin((cornerX - playerCenterX) / circleRadius))) * circleRadius;
-						}
-						if (maxY > blockMaxY) {
-							// If the new calculated maxY for this block is lower (closer to the player) than the previous value, store it in the maxY variable
-							maxY = blockMaxY;
-						}
-						break;
-					}
-				} catch (ArrayIndexOutOfBoundsException e) {}
+			int obstacleY = level.skyline.ceiling(obstacleX, (int)(playerY + playerWidth)); // Find the lowest solid obstacle in this column that is not below the player
+			if (obstacleY >= 0) {
+				double blockMaxY;
+				if ((int)playerCenterX == obstacleX) { // If the player's center is on this block, set the maxY to the bottom of this obstacle
+					blockMaxY = obstacleY;
+				} else {
+					double cornerX = Math.round(playerX);
+					// Calculate the exact maximum y for the player using math to account for the players circular shape on a corner of a square block
+					blockMaxY = obstacleY + Math.abs(Math.cos(Math.asin((cornerX - playerCenterX) / circleRadius))) * circleRadius;
+				}
+				if (maxY > blockMaxY) {
+					// If the new calculated maxY for this block is lower (closer to the player) than the previous value, store it in the maxY variable
+					maxY = blockMaxY;
+				}
 			}
 		}
 		
@@ -706,77 +812,54 @@ public class LevelView extends Drawable {
 	/** Method Name: shouldDie()
 	 * @Author Colin Toft
 	 * @Date January 7th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Determines if a player is touching a triangle or is colliding with the side of a solid object
 	 * @Returns Whether or not the player should die based on these conditions
-	 * Data Type: Area, int, GeneralPath, Obstacle
-	 * Dependencies: N/A
+	 * Data Type: double, int, Obstacle
+	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	private boolean shouldDie() {
-		Area playerArea = new Area(new Ellipse2D.Double(playerX, playerY, playerWidth, playerWidth)); // Store the player's area
+		// The player's hitbox is a circle
+		double radius = playerWidth / 2;
+		double centerX = playerX + radius;
+		double centerY = playerY + radius;
 		
 		// Loop through all obstacles that the player could be touching
 		for (int obstacleX = (int) playerX; obstacleX <= (int) playerX + 1; obstacleX++) {
 			for (int obstacleY = (int)(playerY + playerWidth); obstacleY >= 0; obstacleY--) {
-				try {
-					// If the obstacle is a triangle, store its area and see if it intersects with the player
-					if (level.obstacles[obstacleX][obstacleY] == Obstacle.TRIANGLE) {
-						GeneralPath triangleShape = new GeneralPath();
-						triangleShape.moveTo(obstacleX, obstacleY);
-						triangleShape.lineTo(obstacleX + 0.5, obstacleY + 1);
-						triangleShape.lineTo(obstacleX + 1, obstacleY);
-						triangleShape.closePath();
-						Area triangleArea = new Area(triangleShape);
-						triangleArea.intersect(playerArea); // Calculate the intersection between the player and the triangle
-						
-						if (!triangleArea.isEmpty()) {
-							return true; // The player intersects with the triangle's area
-						}
-					// If the obstacle is an upside down triangle, store its area and see if it intersects with the player
-					} else if (level.obstacles[obstacleX][obstacleY] == Obstacle.TRIANGLE_UPSIDE_DOWN) {
-						GeneralPath triangleShape = new GeneralPath();
-						triangleShape.moveTo(obstacleX, obstacleY + 1);
-						triangleShape.lineTo(obstacleX + 0.5, obstacleY);
-						triangleShape.lineTo(obstacleX + 1, obstacleY + 1);
-						triangleShape.closePath();
-						Area triangleArea = new Area(triangleShape);
-						triangleArea.intersect(playerArea); // Calculate the intersection between the player and the triangle
-						
-						if (!triangleArea.isEmpty()) {
-							return true; // The player intersects with the triangle's area
-						}
-					// If the obstacle is an left facing triangle, store its area and see if it intersects with the player
-					} else if (level.obstacles[obstacleX][obstacleY] == Obstacle.TRIANGLE_LEFT) {
-						GeneralPath triangleShape = new GeneralPath();
-						triangleShape.moveTo(obstacleX, obstacleY + 0.5);
-						triangleShape.lineTo(obstacleX + 1, obstacleY);
-						triangleShape.lineTo(obstacleX + 1, obstacleY + 1);
-						triangleShape.closePath();
-						Area triangleArea = new Area(triangleShape);
-						triangleArea.intersect(playerArea); // Calculate the intersection between the player and the triangle
-						
-						if (!triangleArea.isEmpty()) {
-							return true; // The player intersects with the triangle's area
-						}
+				// If the obstacle is a triangle, see if it intersects with the player
+				if (level.obstacles.is(obstacleX, obstacleY, Obstacle.TRIANGLE)) {
+					if (Collision.circleIntersectsTriangle(centerX, centerY, radius, obstacleX, obstacleY, obstacleX + 0.5, obstacleY + 1, obstacleX + 1, obstacleY)) {
+						return true; // The player intersects with the triangle's area
 					}
-				} catch (ArrayIndexOutOfBoundsException e) {}
+				// If the obstacle is an upside down triangle, see if it intersects with the player
+				} else if (level.obstacles.is(obstacleX, obstacleY, Obstacle.TRIANGLE_UPSIDE_DOWN)) {
+					if (Collision.circleIntersectsTriangle(centerX, centerY, radius, obstacleX, obstacleY + 1, obstacleX + 0.5, obstacleY, obstacleX + 1, obstacleY + 1)) {
+						return true; // The player intersects with the triangle's area
+					}
+				// If the obstacle is an left facing triangle, see if it intersects with the player
+				} else if (level.obstacles.is(obstacleX, obstacleY, Obstacle.TRIANGLE_LEFT)) {
+					if (Collision.circleIntersectsTriangle(centerX, centerY, radius, obstacleX, obstacleY + 0.5, obstacleX + 1, obstacleY, obstacleX + 1, obstacleY + 1)) {
+						return true; // The player intersects with the triangle's area
+					}
+				}
 			}
 			
 			if (obstacleX > playerX) { // Check on the right side of the player to see if they are about to run into a square
 				for (int obstacleY = (int)(playerY + playerWidth); obstacleY >= (int) playerY; obstacleY--) {
-					try {
-						if (level.obstacles[obstacleX][obstacleY] != null && level.obstacles[obstacleX][obstacleY].isSolid()) { // If there is a solid obstacle at this location
-							// Calculate the area of the right side of the player
-							Area rightSidePlayerArea = new Area(new Rectangle2D.Double(playerX + playerWidth * 0.8, playerY, playerWidth * 0.2, playerWidth));
-							rightSidePlayerArea.intersect(playerArea);
-							
-							if (rightSidePlayerArea.intersects(new Rectangle2D.Double(obstacleX, obstacleY, 1, 1))) {
-								// The right side of the player intersects with this obstacle
-								return true;
-							}
+					if (level.obstacles.isSolid(obstacleX, obstacleY)) { // If there is a solid obstacle at this location
+						// Only the right side of the player (the last 20% of its width) counts, so find the part of the obstacle that overlaps with that side
+						double left = Math.max(playerX + playerWidth * 0.8, obstacleX);
+						double right = Math.min(playerX + playerWidth, obstacleX + 1);
+						double top = Math.max(playerY, obstacleY);
+						double bottom = Math.min(playerY + playerWidth, obstacleY + 1);
+						
+						if (Collision.circleIntersectsRect(centerX, centerY, radius, left, top, right - left, bottom - top)) {
+							// The right side of the player intersects with this obstacle
+							return true;
 						}
-					} catch (ArrayIndexOutOfBoundsException e) {}
+					}
 				}
 			}
 		}
@@ -787,38 +870,35 @@ public class LevelView extends Drawable {
 	/** Method Name: isTouchingYellowPad()
 	 * @Author Colin Toft
 	 * @Date January 19th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Determines if a player is touching a yellow pad
 	 * @Returns True the player is currently touching a yellow pad, otherwise false
-	 * Data Type: Area, int, Ellipse2D, Rectangle2D, Obstacle
-	 * Dependencies: N/A
+	 * Data Type: double, int, Obstacle
+	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	private boolean isTouchingYellowPad() {
-		Area playerArea = new Area(new Ellipse2D.Double(playerX, playerY, playerWidth, playerWidth)); // Calculate the player's area
+		// The player's hitbox is a circle
+		double radius = playerWidth / 2;
+		double centerX = playerX + radius;
+		double centerY = playerY + radius;
 				
 		// Loop through all obstacles near the player
 		for (int obstacleX = (int) playerX; obstacleX <= (int) playerX + 1; obstacleX++) {
 			for (int obstacleY = (int)(playerY + playerWidth); obstacleY >= 0; obstacleY--) {
-				try {
-					if (level.obstacles[obstacleX][obstacleY] == Obstacle.YELLOW_PAD) {
-						Area padArea = new Area(new Rectangle2D.Double(obstacleX, obstacleY, 1, 0.25)); // If the obstacle is a yellow pad, calculate its area
-						padArea.intersect(playerArea); // Determine if the pad and player intersect
-						
-						if (!padArea.isEmpty()) {
-							return true; // If there is an intersection, the player is touching the yellow pad
-						}
+				if (level.obstacles.is(obstacleX, obstacleY, Obstacle.YELLOW_PAD)) {
+					// A yellow pad takes up the bottom quarter of its block
+					if (Collision.circleIntersectsRect(centerX, centerY, radius, obstacleX, obstacleY, 1, 0.25)) {
+						return true; // If there is an intersection, the player is touching the yellow pad
 					}
-					
-					if (level.obstacles[obstacleX][obstacleY] == Obstacle.YELLOW_PAD_UPSIDE_DOWN) {
-						Area padArea = new Area(new Rectangle2D.Double(obstacleX, obstacleY + 0.75, 1, 0.25)); // If the obstacle is a yellow pad, calculate its area
-						padArea.intersect(playerArea); // Determine if the pad and player intersect
-						
-						if (!padArea.isEmpty()) {
-							return true; // If there is an intersection, the player is touching the yellow pad
-						}
+				}
+				
+				if (level.obstacles.is(obstacleX, obstacleY, Obstacle.YELLOW_PAD_UPSIDE_DOWN)) {
+					// An upside down yellow pad takes up the top quarter of its block
+					if (Collision.circleIntersectsRect(centerX, centerY, radius, obstacleX, obstacleY + 0.75, 1, 0.25)) {
+						return true; // If there is an intersection, the player is touching the yellow pad
 					}
-				} catch (ArrayIndexOutOfBoundsException e) {}
+				}
 			}
 		}
 		
@@ -828,29 +908,28 @@ public class LevelView extends Drawable {
 	/** Method Name: isTouchingYellowRing()
 	 * @Author Colin Toft
 	 * @Date January 19th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Determines if a player is touching a yellow ring
 	 * @Returns True the player is currently touching a yellow ring, otherwise false
-	 * Data Type: Area, int, Ellipse2D, Rectangle2D, Obstacle
-	 * Dependencies: N/A
+	 * Data Type: double, int, Obstacle
+	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	private boolean isTouchingYellowRing() {
-		Area playerArea = new Area(new Ellipse2D.Double(playerX, playerY, playerWidth, playerWidth)); // Calculate the player's area
+		// The player's hitbox is a circle
+		double radius = playerWidth / 2;
+		double centerX = playerX + radius;
+		double centerY = playerY + radius;
 				
 		// Loop through all obstacles near the player
 		for (int obstacleX = (int) playerX; obstacleX <= (int) playerX + 1; obstacleX++) {
 			for (int obstacleY = (int)(playerY + playerWidth); obstacleY >= 0; obstacleY--) {
-				try {
-					if (level.obstacles[obstacleX][obstacleY] == Obstacle.YELLOW_RING) {
-						Area ringArea = new Area(new Ellipse2D.Double(obstacleX - 0.25, obstacleY - 0.25, 1.5, 1.5)); // If the obstacle is a yellow pad, calculate its area
-						ringArea.intersect(playerArea); // Determine if the pad and player intersect
-						
-						if (!ringArea.isEmpty()) {
-							return true; // If there is an intersection, the player is touching the yellow pad
-						}
+				if (level.obstacles.is(obstacleX, obstacleY, Obstacle.YELLOW_RING)) {
+					// A yellow ring is a circle with a diameter of 1.5 blocks, centered on its block
+					if (Collision.circleIntersectsCircle(centerX, centerY, radius, obstacleX + 0.5, obstacleY + 0.5, 0.75)) {
+						return true; // If there is an intersection, the player is touching the yellow ring
 					}
-				} catch (ArrayIndexOutOfBoundsException e) {}
+				}
 			}
 		}
 		
@@ -872,15 +951,14 @@ public class LevelView extends Drawable {
 		int bottomY = (int) playerY; // The bottom y coordinate to check (the bottom of the player)
 		int topY = bottomY + 1; // The top y coordinate to check (the top of the player)
 		
-		Obstacle bottomObstacle, topObstacle; // The obstacles at the top and bottom y coordinates, respectively
-		try {
-			// Find the obstacles at the top and bottom coordinate
-			bottomObstacle = level.obstacles[xCoord][bottomY];
-			topObstacle = level.obstacles[xCoord][topY];
-		} catch (ArrayIndexOutOfBoundsException e) {
-			return;
+		if (!level.obstacles.inBounds(xCoord, bottomY) || !level.obstacles.inBounds(xCoord, topY)) {
+			return; // The player is not completely inside the level, so they can't be touching a portal
 		}
 		
+		// Find the obstacles at the top and bottom coordinate
+		Obstacle bottomObstacle = level.obstacles.get(xCoord, bottomY); // The obstacle at the bottom y coordinate
+		Obstacle topObstacle = level.obstacles.get(xCoord, topY); // The obstacle at the top y coordinate
+		
 		if (triangleMode) { // The player is in triangle mode, so look for a circle portal
 			if (bottomObstacle != null && bottomObstacle.isCirclePortal() || topObstacle != null && topObstacle.isCirclePortal()) {
 				triangleMode = false; // The player is touching a circle portal, so begin circle mode
@@ -928,7 +1006,7 @@ public class LevelView extends Drawable {
 	 * Throws/Exceptions: N/A
 	 */
 	public int blockXToPixelX(double blockX) {
-		return (int) Math.round((blockX - playerX) * getBlockSize() + (playerScreenX * pixelWidth()));
+		return (int) Math.round((blockX - drawPlayerX) * getBlockSize() + (playerScreenX * pixelWidth()));
 	}
 	
 	/** Method Name: blockYToPixelY()
@@ -942,7 +1020,7 @@ public class LevelView extends Drawable {
 	 * Throws/Exceptions: N/A
 	 */
 	public int blockYToPixelY(double blockY) {
-		return (int) Math.round((1 - groundHeight) * pixelHeight() - blockY * getBlockSize());
+		return (int) Math.round((1 - drawGroundHeight) * pixelHeight() - blockY * getBlockSize());
 	}
 	
 	/** Method Name: pixelXToBlockX()
@@ -956,7 +1034,7 @@ public class LevelView extends Drawable {
 	 * Throws/Exceptions: N/A
 	 */
 	public double pixelXToBlockX(int pixelX) {
-		return (pixelX - (playerScreenX * pixelWidth())) / getBlockSize() + playerX;
+		return (pixelX - (playerScreenX * pixelWidth())) / getBlockSize() + drawPlayerX;
 	}
 	
 	/** Method Name: pixelYToBlockY()
@@ -970,7 +1048,7 @@ public class LevelView extends Drawable {
 	 * Throws/Exceptions: N/A
 	 */
 	public double pixelYToBlockY(int pixelY) {
-		return (pixelY - (1 - groundHeight) * pixelHeight()) / -getBlockSize();
+		return (pixelY - (1 - drawGroundHeight) * pixelHeight()) / -getBlockSize();
 	}
 	
 	/** Method Name: screenXToBlockX()
@@ -1167,6 +1245,7 @@ public class LevelView extends Drawable {
 		hasDied = false;
 		hasBeatLevel = false;
 		
+		resetInterpolation();
 	}
 	
 	/** Method Name: restartLevel()
@@ -1185,6 +1264,7 @@ public class LevelView extends Drawable {
 		winTimer = 0;
 		startNextAttempt(); // Call the normal procedure to start an attempt
 		playerX = -15; // Player starts a little further to the left than normal on the 1st attempt
+		resetInterpolation();
 	}
 
 	/** Method Name: getScrollSpeed()
@@ -1236,6 +1316,30 @@ public class LevelView extends Drawable {
 		stopMusic();
 	}
 	
+	/** Method Name: dispose()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Overrides Drawable.dispose(): stops rendering chunks of the level in the background and frees them, and closes the music
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: LevelChunkRenderer, MusicPlayer
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	@Override
+	public void dispose() {
+		super.dispose();
+		if (chunkRenderer != null) {
+			chunkRenderer.dispose();
+		}
+		for (MusicPlayer player: new MusicPlayer[] {music, practiceMusic}) {
+			if (player != null) {
+				player.close();
+			}
+		}
+	}
+	
 	/** Method Name: onPause()
 	 * @Author Colin Toft
 	 * @Date January 8th, 2020
@@ -1325,14 +1429,35 @@ public class LevelView extends Drawable {
 		return triangleMode;
 	}
 	
+	/** Method Name: setPlayerRotationFrames()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Sets how many rotations of each player image are pre-rendered. More frames make the rotation smoother but use more memory.
+	 * @Parameters
+	 *      - int frames: the number of rotations, evenly spaced around a full turn
+	 * @Returns N/A
+	 * Data Type: int
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public void setPlayerRotationFrames(int frames) {
+		if (frames != playerRotationFrames) {
+			playerRotationFrames = frames;
+			if (playerCircleImage != null) {
+				cachePlayerRotations(); // The images have already been loaded, so pre-render them again with the new number of frames
+			}
+		}
+	}
+	
 	/** Method Name: startMusic()
 	 * @Author Colin Toft
 	 * @Date January 9th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Starts the music from the beginning (level music if playing in normal mode, otherwise practice music)
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: boolean, Clip
+	 * Data Type: boolean, MusicPlayer
 	 * Dependencies: N/A
 	 * Throws/Exceptions: N/A
 	 */
@@ -1340,9 +1465,11 @@ public class LevelView extends Drawable {
 		playingMusic = true;
 		// Choose the appropriate music depending on the mode and start playing it from the beginning
 		if (practiceMode) {
-			practiceMusic.setFramePosition(0);
-			practiceMusic.loop(Clip.LOOP_CONTINUOUSLY);
-		} else {
+			if (practiceMusic != null) {
+				practiceMusic.setFramePosition(0);
+				practiceMusic.loop();
+			}
+		} else if (music != null) {
 			music.setFramePosition(0);
 			music.start();
 		}
@@ -1351,11 +1478,11 @@ public class LevelView extends Drawable {
 	/** Method Name: resumeMusic()
 	 * @Author Colin Toft
 	 * @Date January 9th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Resumes the music (level music if playing in normal mode, otherwise practice music)
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: boolean, Clip
+	 * Data Type: boolean, MusicPlayer
 	 * Dependencies: N/A
 	 * Throws/Exceptions: N/A
 	 */
@@ -1363,8 +1490,10 @@ public class LevelView extends Drawable {
 		playingMusic = true;
 		// Choose the appropriate music depending on the mode and start playing it
 		if (practiceMode) {
-			practiceMusic.loop(Clip.LOOP_CONTINUOUSLY);
-		} else {
+			if (practiceMusic != null) {
+				practiceMusic.loop();
+			}
+		} else if (music != null) {
 			music.start();
 		}
 	}
@@ -1372,20 +1501,26 @@ public class LevelView extends Drawable {
 	/** Method Name: stopMusic()
 	 * @Author Colin Toft
 	 * @Date January 9th, 2020
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Stops all currently playing music and sounds
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: boolean, Clip
+	 * Data Type: boolean, MusicPlayer, Clip
 	 * Dependencies: N/A
 	 * Throws/Exceptions: N/A
 	 */
 	public void stopMusic() {
-		// Stop all music and sounds
-		music.stop();
-		practiceMusic.stop();
-		winSound.stop();
-		deathSound.stop();
+		// Stop all music and sounds (any of them may be missing if audio is unavailable)
+		for (MusicPlayer player: new MusicPlayer[] {music, practiceMusic}) {
+			if (player != null) {
+				player.stop();
+			}
+		}
+		for (Clip clip: new Clip[] {winSound, deathSound}) {
+			if (clip != null) {
+				clip.stop();
+			}
+		}
 		playingMusic = false;
 	}
 }
@@ -63,6 +63,57 @@ public enum Obstacle {
 		}
 	}
 	
+	/** Method Name: fromCode()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Converts the abbreviation of an obstacle stored as ASCII bytes (for example while reading a level file) to an Obstacle, without creating a String.
+	 * Accepts exactly the same abbreviations as fromString().
+	 * @Parameters
+	 *      - byte[] bytes: the array containing the abbreviation
+	 *      - int offset: the index of the first character of the abbreviation
+	 *      - int length: the number of characters in the abbreviation
+	 * @Returns An Obstacle that corresponds to the abbreviation
+	 * Data Type: byte, int, Obstacle
+	 * Dependencies: N/A
+	 * Throws/Exceptions: Returns null if the bytes are not a valid abbreviation for an Obstacle type
+	 */
+	public static Obstacle fromCode(byte[] bytes, int offset, int length) {
+		if (length < 1 || length > 3) {
+			return null; // Every abbreviation is between 1 and 3 characters long
+		}
+		
+		// Pack the characters into one int so that they can be compared all at once
+		int code = 0;
+		for (int i = offset; i < offset + length; i++) {
+			code = (code << 8) | (bytes[i] & 0xFF);
+		}
+		
+		// Return the correct obstacle type based on the packed characters
+		switch (code) {
+		case 'S': return SQUARE;
+		
+		case 'T': return TRIANGLE;
+		case 'T' << 8 | 'U': return TRIANGLE_UPSIDE_DOWN;
+		case 'T' << 8 | 'L': return TRIANGLE_LEFT;
+		
+		case 'Y' << 8 | 'P': return YELLOW_PAD;
+		case 'Y' << 16 | 'P' << 8 | 'U': return YELLOW_PAD_UPSIDE_DOWN;
+		case 'Y' << 8 | 'R': return YELLOW_RING;
+		
+		case 'C' << 16 | 'P' << 8 | 'B': return CIRCLE_PORTAL_BOTTOM;
+		case 'C' << 16 | 'P' << 8 | 'T': return CIRCLE_PORTAL_TOP;
+		case 'T' << 16 | 'P' << 8 | 'B': return TRIANGLE_PORTAL_BOTTOM;
+		case 'T' << 16 | 'P' << 8 | 'T': return TRIANGLE_PORTAL_TOP;
+		case 'U' << 16 | 'P' << 8 | 'B': return UPSIDE_DOWN_PORTAL_BOTTOM;
+		case 'U' << 16 | 'P' << 8 | 'T': return UPSIDE_DOWN_PORTAL_TOP;
+		case 'R' << 16 | 'P' << 8 | 'B': return RIGHT_SIDE_UP_PORTAL_BOTTOM;
+		case 'R' << 16 | 'P' << 8 | 'T': return RIGHT_SIDE_UP_PORTAL_TOP;
+		
+		default: return null;
+		}
+	}
+	
 	/** Method Name: getImageFilename()
 	 * @Author Colin Toft
 	 * @Date December 31st, 2019
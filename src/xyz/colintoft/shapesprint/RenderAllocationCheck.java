@@ -0,0 +1,85 @@
+package xyz.colintoft.shapesprint;
+
+import xyz.colintoft.cgraphics.HeadlessRuntime;
+import xyz.colintoft.cgraphics.RenderStats;
+import xyz.colintoft.cgraphics.Scene;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description Checks that drawing the main menu while nothing on it is moving allocates no more than a small, fixed amount of memory per frame,
+so that a change that makes drawing allocate again is caught. The menu is drawn both the way it normally is (with partial repaint, where only the retained image is copied)
+and with every Drawable drawn again each frame, which is what catches allocations in the drawing of the Drawable tree. Runs the game headless with a HeadlessRuntime and counts allocations with RenderStats.
+Prints the result and exits with status 1 if the check fails. Usage: RenderAllocationCheck [frames]
+***********************************************
+*/
+public class RenderAllocationCheck {
+
+	public static final long maxBytesPerFrame = 1024; // The most memory that drawing one frame of the idle main menu may allocate
+	private static final int warmUpFrames = 50; // Frames drawn before counting, so that images and caches made by the first frames are not counted
+
+	/** Method Name: main()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Draws the given number of frames of the idle main menu (100 by default) with and without partial repaint, and checks how much memory each one allocated
+	 * @Parameters
+	 *      - String[] args: optionally the number of frames to check
+	 * @Returns N/A
+	 * Data Type: ShapeSprint, HeadlessRuntime, Scene, boolean
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	public static void main(String[] args) {
+		int frames = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		if (!RenderStats.isSupported()) {
+			System.out.println("Skipped: this JVM can't count allocated memory");
+			System.exit(0);
+		}
+
+		HeadlessRuntime runtime = new HeadlessRuntime(new ShapeSprint(true));
+		runtime.setResolution(640, 360);
+		runtime.tick(30); // Let the menu finish appearing
+		Scene menu = runtime.getGame().getScene();
+
+		boolean passed = check(runtime, frames, "with partial repaint");
+		menu.setPartialRepaint(false);
+		passed &= check(runtime, frames, "drawing everything again");
+		System.exit(passed ? 0 : 1); // Exit straight away, since the game's background threads would keep running
+	}
+
+	/** Method Name: check()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Draws the current scene the given number of times after warming up, prints the most memory one frame allocated and returns whether it is within the limit
+	 * @Parameters
+	 *      - HeadlessRuntime runtime: the runtime running the game
+	 *      - int frames: the number of frames to check
+	 *      - String mode: describes how the scene is being drawn, for the message
+	 * @Returns True if no frame allocated more than maxBytesPerFrame
+	 * Data Type: HeadlessRuntime, RenderStats, int, long, boolean
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	private static boolean check(HeadlessRuntime runtime, int frames, String mode) {
+		for (int i = 0; i < warmUpFrames; i++) {
+			runtime.render();
+		}
+
+		RenderStats.setEnabled(true);
+		long worst = 0;
+		for (int i = 0; i < frames; i++) {
+			runtime.render();
+			worst = Math.max(worst, RenderStats.getLastFrameAllocatedBytes());
+		}
+		RenderStats.setEnabled(false);
+
+		boolean passed = worst <= maxBytesPerFrame;
+		System.out.println((passed ? "Passed" : "Failed") + ": drawing " + frames + " frames of the idle main menu " + mode + " allocated at most " + worst
+				+ " bytes per frame (" + RenderStats.getTotalAllocatedBytes() + " bytes in total), and the limit is " + maxBytesPerFrame);
+		return passed;
+	}
+}
@@ -12,6 +12,7 @@ import java.io.InputStream;
 import java.io.PrintWriter;
 
 import xyz.colintoft.cgraphics.Game;
+import xyz.colintoft.cgraphics.FontRegistry;
 import xyz.colintoft.cgraphics.Util;
 import xyz.colintoft.shapesprint.scenes.MainMenu;
 
@@ -19,11 +20,10 @@ import xyz.colintoft.shapesprint.scenes.MainMenu;
 ***********************************************
 @Author Colin Toft
 @Date December 21st, 2019
-@Modified December 22nd, 2019, January 8th, 10th & 17th, 2020
+@Modified December 22nd, 2019, January 8th, 10th & 17th, 2020, October 18th, 2026
 @Description A simple clone of the game Geometry Dash, created with Java and the CGraphics library I have previously created.
 ***********************************************
 */
-@SuppressWarnings("serial")
 public class ShapeSprint extends Game {
 	
 	public static ShapeSprint game; // The main game object
@@ -38,6 +38,7 @@ public class ShapeSprint extends Game {
 	public static final String saveFile = "/saveGame.txt"; // The file where the user's data should be saved to
 	
 	public Font titleFont;
+	private Font loadingFont; // The font the loading screen is drawn with, at its current size
 	
 	public static void main(String[] args) {
 		// Run the game
@@ -45,10 +46,41 @@ public class ShapeSprint extends Game {
 		game.run();
 	}
 	
+	/** Method Name: ShapeSprint()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Creates the game with a window, unless there is no display available
+	 * @Parameters N/A
+	 * @Returns N/A
+	 * Data Type: N/A
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	public ShapeSprint() {
+		super();
+	}
+	
+	/** Method Name: ShapeSprint()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Creates the game, either with a window or headless (with no window or audio, to be run by a HeadlessRuntime)
+	 * @Parameters
+	 *      - boolean headless: whether the game should be created without a window
+	 * @Returns N/A
+	 * Data Type: N/A
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	public ShapeSprint(boolean headless) {
+		super(headless);
+	}
+	
 	/** Method Name: init()
 	 * @Author Colin Toft
 	 * @Date December 21st, 2019
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Initializes the window, creates the levels and loads the previous user progress.
 	 * @Parameters N/A
 	 * @Returns N/A
@@ -58,14 +90,16 @@ public class ShapeSprint extends Game {
 	 */
 	@Override
 	public void init() {
+		game = this; // Levels save progress through this object, so set it here in case the game was not created by main()
+		
 		// Load the font
-		titleFont = Util.loadFontFromFile(getClass(), "Pusab.ttf", 50);
+		titleFont = FontRegistry.getFont("Pusab.ttf", 50);
 		
 		// Initialize the list levels
 		levels = new Level[] {
-			new Level("Dimensional Vortex" , Color.BLUE, "dimensionalvortex.txt", "DimensionalVortex.wav", 0),
-			new Level("Spatial Plane", Color.MAGENTA, "spatialplane.txt", "SpatialPlane.wav", -0.25),
-			new Level("Temporal Nebula", new Color(255, 210, 0), "temporalnebula.txt", "TemporalNebula.wav", 0)
+			new Level("Dimensional Vortex" , Color.BLUE, "dimensionalvortex.level", "DimensionalVortex.wav", 0),
+			new Level("Spatial Plane", Color.MAGENTA, "spatialplane.level", "SpatialPlane.wav", -0.25),
+			new Level("Temporal Nebula", new Color(255, 210, 0), "temporalnebula.level", "TemporalNebula.wav", 0)
 		};
 		
 		// Load the previous user progress
@@ -73,9 +107,11 @@ public class ShapeSprint extends Game {
 		
 		// Set up the window and open the main menu
 		boolean useFullScreen = true; // Should the window open in full screen
-		Dimension dim = Toolkit.getDefaultToolkit().getScreenSize();
+		Dimension dim = isHeadless() ? new Dimension(1920, 1080) : Toolkit.getDefaultToolkit().getScreenSize(); // There is no screen to measure when headless
 		setFrame("Shape Sprint", (int) dim.getWidth(), (int) dim.getHeight());
-		setFPS(400);
+		setDrawFPS(400);
+		setUpdateFPS(240); // Physics runs at a fixed rate so that jumps are the same on every computer
+		setFixedTimestep(true);
 		if (!useFullScreen) {
 			setSize(640, 480);
 		}
@@ -88,7 +124,7 @@ public class ShapeSprint extends Game {
 	 * @Author Colin Toft
 	 * @Date January 8th, 2019
 	 * @Modified January 17th, 2019
-	 * @Description Saves the user's progress in the game to a file.
+	 * @Description Saves the user's progress in the game to a file. Does nothing when the game is headless.
 	 * @Parameters N/A 
 	 * @Returns N/A
 	 * Data Type: N/A
@@ -96,6 +132,9 @@ public class ShapeSprint extends Game {
 	 * Throws/Exceptions: N/A
 	 */
 	public void saveProgress() {
+		if (isHeadless()) {
+			return; // Simulated games should not overwrite the player's real progress
+		}
 		try {
 			// Open the save file
 			PrintWriter writer = new PrintWriter(new BufferedWriter(new FileWriter("assets" + saveFile))); // Create a PrintWriter to output to the file
@@ -155,11 +194,12 @@ public class ShapeSprint extends Game {
 	/** Method Name: drawLoadingScreen()
 	 * @Author Colin Toft
 	 * @Date January 21st, 2020
-	 * @Modified N/A
-	 * @Description Overrides Game.drawLoadingScreen(): shows a loading message
-	 * @Parameters N/A
+	 * @Modified October 18th, 2026
+	 * @Description Overrides Game.drawLoadingScreen(): shows a loading message with animated dots, and a bar along the bottom of the screen showing how much has loaded
+	 * @Parameters
+	 *      - Graphics g: the graphics object to draw the loading screen to
 	 * @Returns N/A
-	 * Data Type: N/A
+	 * Data Type: Graphics, Font, Color, int
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
@@ -168,10 +208,16 @@ public class ShapeSprint extends Game {
 		g.fillRect(0, 0, getWidth(), getHeight());
 		g.setColor(Color.white);
 		if (titleFont != null) {
-			Font n = titleFont.deriveFont(getHeight() / 10f);
-			g.setFont(n);
+			if (loadingFont == null || loadingFont.getSize2D() != getHeight() / 10f) {
+				loadingFont = titleFont.deriveFont(getHeight() / 10f); // Only made again when the window changes size, since this is drawn many times a second
+			}
+			g.setFont(loadingFont);
 		}
-		g.drawString("Loading...", 15, getHeight() / 10 * 9);
+		int dots = (int) (System.nanoTime() / 400000000L % 4); // Count up to three dots and start again
+		g.drawString("Loading" + "...".substring(0, dots), 15, getHeight() / 10 * 9);
+		
+		// Show how much has loaded along the bottom of the screen
+		g.fillRect(0, getHeight() - getHeight() / 60, (int) (getWidth() * getLoadingProgress()), getHeight() / 60);
 	}
 	
 	/** Method Name: isFirstTime()
@@ -0,0 +1,132 @@
+package xyz.colintoft.shapesprint;
+
+/**
+***********************************************
+@Author Colin Toft
+@Date October 18th, 2026
+@Modified N/A
+@Description An index of the solid blocks in each column of a level, built once when the level is loaded.
+Each column is stored as a sorted list of runs of solid blocks, so finding the ground beneath or the ceiling above a point is a binary search instead of a scan through every block in the column.
+***********************************************
+*/
+public class SkylineIndex {
+
+	private static final int[] noRuns = new int[0]; // Shared by every column that has no solid blocks
+
+	private final int[][] runs; // For each column, the start (inclusive) and end (exclusive) y coordinates of each run of solid blocks, from bottom to top
+
+	/** Method Name: SkylineIndex()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Builds the index from the obstacles of a level
+	 * @Parameters
+	 *      - LevelGrid obstacles: the obstacles in the level
+	 * @Returns N/A
+	 * Data Type: int, LevelGrid
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public SkylineIndex(LevelGrid obstacles) {
+		int width = obstacles.width, height = obstacles.height;
+		runs = new int[width][];
+		int[] column = new int[height + 1]; // Large enough for the worst case of alternating solid and empty blocks
+
+		for (int x = 0; x < width; x++) {
+			int length = 0;
+			boolean inRun = false;
+			for (int y = 0; y < height; y++) {
+				boolean solid = obstacles.isSolid(x, y);
+				if (solid != inRun) {
+					// A run of solid blocks starts or ends here
+					column[length++] = y;
+					inRun = solid;
+				}
+			}
+			if (inRun) {
+				column[length++] = height; // Close the run that reaches the top of the level
+			}
+
+			if (length == 0) {
+				runs[x] = noRuns;
+			} else {
+				runs[x] = new int[length];
+				System.arraycopy(column, 0, runs[x], 0, length);
+			}
+		}
+	}
+
+	/** Method Name: floor()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Finds the highest solid block in a column that is at or below the given y coordinate
+	 * @Parameters
+	 *      - int x: the x coordinate of the column
+	 *      - int y: the highest y coordinate to consider
+	 * @Returns The y coordinate of the solid block, or -1 if there is none (or x is outside the level)
+	 * Data Type: int
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public int floor(int x, int y) {
+		if (x < 0 || x >= runs.length || y < 0) {
+			return -1;
+		}
+		int[] column = runs[x];
+
+		// Binary search for the last run that starts at or below y
+		int low = 0, high = column.length / 2 - 1, found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (column[mid * 2] <= y) {
+				found = mid;
+				low = mid + 1;
+			} else {
+				high = mid - 1;
+			}
+		}
+
+		if (found == -1) {
+			return -1;
+		}
+		return Math.min(y, column[found * 2 + 1] - 1); // Either y is inside the run, or the top of the run is below y
+	}
+
+	/** Method Name: ceiling()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Finds the lowest solid block in a column that is at or above the given y coordinate
+	 * @Parameters
+	 *      - int x: the x coordinate of the column
+	 *      - int y: the lowest y coordinate to consider
+	 * @Returns The y coordinate of the solid block, or -1 if there is none (or x is outside the level)
+	 * Data Type: int
+	 * Dependencies: N/A
+	 * Throws/Exceptions: N/A
+	 */
+	public int ceiling(int x, int y) {
+		if (x < 0 || x >= runs.length) {
+			return -1;
+		}
+		int[] column = runs[x];
+
+		// Binary search for the first run that ends above y
+		int low = 0, high = column.length / 2 - 1, found = -1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			if (column[mid * 2 + 1] > y) {
+				found = mid;
+				high = mid - 1;
+			} else {
+				low = mid + 1;
+			}
+		}
+
+		if (found == -1) {
+			return -1;
+		}
+		return Math.max(y, column[found * 2]); // Either y is inside the run, or the bottom of the run is above y
+	}
+}
@@ -20,7 +20,7 @@ import xyz.colintoft.shapesprint.ShapeSprint;
 ***********************************************
 @Author Colin Toft
 @Date December 21st, 2019
-@Modified December 22nd, 24th, 26th & 27th, 2019, January 14th & 18th, 2020
+@Modified December 22nd, 24th, 26th & 27th, 2019, January 14th & 18th, 2020, October 18th, 2026
 @Description The main menu scene that allows the user to select a level to play.
 ***********************************************
 */
@@ -56,7 +56,7 @@ public class MainMenu extends Scene {
 		"Menu Song & original Geometry Dash  ",
 		"Game - RobTop Games                   "};
 		
-	private Clip menuMusic; // The menu music that loops while the user is in the menu
+	private MusicPlayer menuMusic; // The menu music that loops while the user is in the menu, streamed from its file
 	
 	private boolean isSwitching = false; // Whether the menu is currently switching between levels
 	private Direction switchDirection = Direction.NONE; // The direction that the menu is switching in
@@ -100,22 +100,42 @@ public class MainMenu extends Scene {
 		this(0); // Start by displaying the first level
 	}
 	
+	/** Method Name: getAssets()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Overrides Scene.getAssets(): lists the images, fonts and sounds used by the menu, so that they are loaded in parallel before init() is called
+	 * @Parameters N/A
+	 * @Returns The assets used by this Scene
+	 * Data Type: AssetManifest
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	@Override
+	public AssetManifest getAssets() {
+		return new AssetManifest()
+				.addImages("menuItems/helpButton.png", "menuItems/creditsButton.png", "menuItems/xButton.png")
+				.addFonts("Pusab.ttf")
+				.addSounds("startLevel.wav"); // The menu music is streamed while it plays, so it doesn't need to be loaded
+	}
+	
 	/** Method Name: init()
 	 * @Author Colin Toft
 	 * @Date December 21st, 2019
-	 * @Modified December 22nd, 24th, 26th & 27th, 2019, January 18th, 2020
+	 * @Modified December 22nd, 24th, 26th & 27th, 2019, January 18th, 2020, October 18th, 2026
 	 * @Description Overrides the Scene.init() method, loads the text, music, progress bars and panels in the scene
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: ShapeSprint, Font, Color, Panel, DrawableRoundedRectangle, DrawableOutlinedText, DrawableProgressBar, DrawableShape, Clip
+	 * Data Type: ShapeSprint, Font, Color, Panel, DrawableRoundedRectangle, DrawableOutlinedText, DrawableProgressBar, DrawableShape, MusicPlayer
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	public void init() {
 		ShapeSprint ss = (ShapeSprint) game;
-		Font titleFont = Util.loadFontFromFile(getClass(), "Pusab.ttf", 100); // Load the font
+		Font titleFont = FontRegistry.getFont("Pusab.ttf", 100); // Load the font
 		
 		setBackground(ss.levels[currentLevel].backgroundColor); // Set the background color to the background color of the level being displayed
+		setPartialRepaint(true); // Most of the menu stays still, so only draw the parts that move
 		
 		// Create the first level panel
 		panel1 = new Panel(panelStartX, 0.15, panelWidth, 0.7);
@@ -132,19 +152,19 @@ public class MainMenu extends Scene {
 		// Add the normal mode progress bar and percentage text
 		normalProgressBar1 = new DrawableProgressBar(0, 0.6, 1, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.GREEN, new Color(0, 0, 0, 70));
 		normalProgressBar1.setValue(ss.levels[currentLevel].normalProgress);
-		DrawableOutlinedText normalModeText1 = new DrawableOutlinedText(0.5, normalProgressBar1.getY() - 0.01, "Normal Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText normalModeText1 = new DrawableOutlinedText(0.5, normalProgressBar1.getY() - 0.01, "Normal Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		normalModeText1.setMaxHeight(normalProgressBar1.getHeight() * 0.7);
 		normalPercentageText1 = new DrawableOutlinedText(normalProgressBar1.getCenterX(), normalProgressBar1.getCenterY(),
-				Util.toPercentageString(normalProgressBar1.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(normalProgressBar1.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		normalPercentageText1.setMaxHeight(normalProgressBar1.getHeight() * 0.7);
 		
 		// Add the practice mode progress bar and percentage text
 		practiceProgressBar1 = new DrawableProgressBar(0, 0.85, 1, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.CYAN, new Color(0, 0, 0, 70));
 		practiceProgressBar1.setValue(ss.levels[currentLevel].practiceProgress);
-		DrawableOutlinedText practiceModeText1 = new DrawableOutlinedText(0.5, practiceProgressBar1.getY() - 0.01, "Practice Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText practiceModeText1 = new DrawableOutlinedText(0.5, practiceProgressBar1.getY() - 0.01, "Practice Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		practiceModeText1.setMaxHeight(practiceProgressBar1.getHeight() * 0.7);
 		practicePercentageText1 = new DrawableOutlinedText(practiceProgressBar1.getCenterX(), practiceProgressBar1.getCenterY(),
-				Util.toPercentageString(practiceProgressBar1.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(practiceProgressBar1.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		practicePercentageText1.setMaxHeight(practiceProgressBar1.getHeight() * 0.7);
 		
 		// Add all the components to the level's panel
@@ -166,17 +186,17 @@ public class MainMenu extends Scene {
 		levelText2.setMaxWidth(rect2.getWidth() * 0.9);
 		
 		normalProgressBar2 = new DrawableProgressBar(0, 0.6, 1, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.GREEN, new Color(0, 0, 0, 70));
-		DrawableOutlinedText normalModeText2 = new DrawableOutlinedText(0.5, normalProgressBar2.getY() - 0.01, "Normal Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText normalModeText2 = new DrawableOutlinedText(0.5, normalProgressBar2.getY() - 0.01, "Normal Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		normalModeText2.setMaxHeight(normalProgressBar2.getHeight() * 0.7);
 		normalPercentageText2 = new DrawableOutlinedText(normalProgressBar2.getCenterX(), normalProgressBar2.getCenterY(),
-				Util.toPercentageString(normalProgressBar2.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(normalProgressBar2.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		normalPercentageText2.setMaxHeight(normalProgressBar2.getHeight() * 0.7);
 		
 		practiceProgressBar2 = new DrawableProgressBar(0, 0.85, 1, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.CYAN, new Color(0, 0, 0, 70));
-		DrawableOutlinedText practiceModeText2 = new DrawableOutlinedText(0.5, practiceProgressBar2.getY() - 0.01, "Practice Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText practiceModeText2 = new DrawableOutlinedText(0.5, practiceProgressBar2.getY() - 0.01, "Practice Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		practiceModeText2.setMaxHeight(practiceProgressBar2.getHeight() * 0.7);
 		practicePercentageText2 = new DrawableOutlinedText(practiceProgressBar2.getCenterX(), practiceProgressBar2.getCenterY(),
-				Util.toPercentageString(practiceProgressBar2.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(practiceProgressBar2.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		practicePercentageText2.setMaxHeight(practiceProgressBar2.getHeight() * 0.7);
 		
 		panel2.add(rect2);
@@ -240,7 +260,7 @@ public class MainMenu extends Scene {
 		// Add the help screen: text on top of a black rectangle with an x button to close the screen
 		helpScreen = new Panel(0.03, 0.03, 0.94, 0.94);
 		DrawableRoundedRectangle helpRect = new DrawableRoundedRectangle(0, 0, 1, 1, 0.07, 0.125, Color.BLACK); // The background rectangle
-		DrawableOutlinedText helpTitleText = new DrawableOutlinedText(helpRect.getCenterX(), 0.15, "Help", titleFont.deriveFont(200f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER); // Displays the title "help"
+		DrawableOutlinedText helpTitleText = new DrawableOutlinedText(helpRect.getCenterX(), 0.15, "Help", FontRegistry.deriveFont(titleFont, 200f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER); // Displays the title "help"
 		helpTitleText.setMaxHeight(helpRect.getHeight() * 0.15);
 		double textY = 0.35; // The y coordinate of the text
 		DrawableText[] helpText = new DrawableText[tutorialText.length]; // Stores the DrawableText objects for the tutorial text
@@ -274,7 +294,7 @@ public class MainMenu extends Scene {
 		// Add the help screen: text on top of a black rectangle with an x button to close the screen
 		creditsScreen = new Panel(0.03, 0.03, 0.94, 0.94);
 		DrawableRoundedRectangle creditsRect = new DrawableRoundedRectangle(0, 0, 1, 1, 0.07, 0.125, Color.BLACK); // The background rectangle
-		DrawableOutlinedText creditsTitleText = new DrawableOutlinedText(creditsRect.getCenterX(), 0.15, "Credits", titleFont.deriveFont(200f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER); // Displays the title "credits"
+		DrawableOutlinedText creditsTitleText = new DrawableOutlinedText(creditsRect.getCenterX(), 0.15, "Credits", FontRegistry.deriveFont(titleFont, 200f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER); // Displays the title "credits"
 		creditsTitleText.setMaxHeight(helpRect.getHeight() * 0.15);
 		textY = 0.35; // The y coordinate of the text
 		DrawableText[] creditsText = new DrawableText[credits.length]; // Stores the DrawableText objects for the credits text
@@ -297,25 +317,27 @@ public class MainMenu extends Scene {
 		creditsScreen.hide();
 
 		// Start playing the menu music
-		menuMusic = Util.getAudioClip(getClass(), "menuLoop.wav");
-		menuMusic.loop(Clip.LOOP_CONTINUOUSLY);
+		menuMusic = Util.getMusicPlayer(getClass(), "menuLoop.wav");
+		if (menuMusic != null) {
+			menuMusic.loop();
+		}
 	}
 	
 	/** Method Name: dispose()
 	 * @Author Colin Toft
 	 * @Date January 14th, 2020
-	 * @Modified January 21st, 2020
-	 * @Description Overrides the Scene.dispose() method which is called when a Scene is about to be closed, stops the menu music.
+	 * @Modified January 21st, 2020, October 18th, 2026
+	 * @Description Overrides the Scene.dispose() method which is called when a Scene is about to be closed, stops and closes the menu music.
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: Clip
+	 * Data Type: MusicPlayer
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	public void dispose() {
 		super.dispose();
 		if (menuMusic != null) {
-			menuMusic.stop();
+			menuMusic.close();
 		}
 	}
 	
@@ -446,20 +468,24 @@ public class MainMenu extends Scene {
 	/** Method Name: startLevel()
 	 * @Author Colin Toft
 	 * @Date December 26th, 2019
-	 * @Modified N/A
+	 * @Modified October 18th, 2026
 	 * @Description Start playing the specified level
 	 * @Parameters
 	 *      - int level: The index of the level that should be played
 	 * @Returns N/A
-	 * Data Type: Clip, ShapeSprint, PlayLevel, Level
+	 * Data Type: MusicPlayer, Clip, ShapeSprint, PlayLevel, Level
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	private void startLevel(int level) {
 		// Stop the menu music and play the start level sound effect
-		menuMusic.stop();
+		if (menuMusic != null) {
+			menuMusic.stop();
+		}
 		Clip startLevel = Util.getAudioClip(getClass(), "startLevel.wav");
-		startLevel.start();
+		if (startLevel != null) {
+			startLevel.start();
+		}
 		
 		// Change the scene to the PlayLevel scene
 		ShapeSprint ss = (ShapeSprint) game;
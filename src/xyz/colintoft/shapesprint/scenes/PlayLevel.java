@@ -7,6 +7,8 @@ import java.awt.event.KeyEvent;
 
 import javax.sound.sampled.Clip;
 
+import xyz.colintoft.cgraphics.AssetManifest;
+import xyz.colintoft.cgraphics.FontRegistry;
 import xyz.colintoft.cgraphics.HorizontalAlign;
 import xyz.colintoft.cgraphics.Scene;
 import xyz.colintoft.cgraphics.Util;
@@ -14,6 +16,7 @@ import xyz.colintoft.cgraphics.VerticalAlign;
 import xyz.colintoft.cgraphics.components.DrawableText;
 import xyz.colintoft.cgraphics.components.Panel;
 import xyz.colintoft.cgraphics.components.Sprite;
+import xyz.colintoft.cgraphics.components.DrawableCounter;
 import xyz.colintoft.cgraphics.components.DrawableOutlinedText;
 import xyz.colintoft.cgraphics.components.DrawableProgressBar;
 import xyz.colintoft.cgraphics.components.DrawableRectangle;
@@ -26,7 +29,7 @@ import xyz.colintoft.shapesprint.ShapeSprint;
 ***********************************************
 @Author Colin Toft
 @Date December 27th, 2019
-@Modified December 30th, 2019, January 7th, 8th, 9th, 10th, 14th, 16th, 17th & 19th, 2020
+@Modified December 30th, 2019, January 7th, 8th, 9th, 10th, 14th, 16th, 17th & 19th, 2020, October 18th, 2026
 @Description The scene where the user can play a level. Includes the level view, pause menu, win screen, and help messages.
 ***********************************************
 */
@@ -36,7 +39,7 @@ public class PlayLevel extends Scene {
 	private LevelView levelView; // The LevelView object that is rendering the level
 	
 	private int attemptNumber = 1; // The current attempt number (incremented by 1 each time the player dies)
-	private DrawableOutlinedText attemptText; // The text object that shows the attempt number on the screen
+	private DrawableCounter attemptText; // The text object that shows the attempt number on the screen
 	private final double attemptTextStartX = 0.9; // The x coordinate that the attempt text will start at (as a fraction of the screen width)
 	
 	private DrawableOutlinedText helpText; // Help text that gives the player tips during the level
@@ -52,7 +55,7 @@ public class PlayLevel extends Scene {
 	private final double progressBarWidth = 0.3; // The width of the above progress bar
 	private final double progressBarHeight = 0.03; // The height of the above progress bar
 	
-	private DrawableOutlinedText percentageText; // Text that shows the player's progress during the level as a percentage
+	private DrawableCounter percentageText; // Text that shows the player's progress during the level as a percentage
 	
 	private final double buttonWidth = 0.1; // The width of the menu buttons in the pause menu and win screen
 	
@@ -88,14 +91,34 @@ public class PlayLevel extends Scene {
 		this.level = level; // Store the level object
 	}
 	
+	/** Method Name: getAssets()
+	 * @Author Colin Toft
+	 * @Date October 18th, 2026
+	 * @Modified N/A
+	 * @Description Overrides Scene.getAssets(): lists the images, fonts and sounds used by the level and its menus, so that they are loaded in parallel before init() is called
+	 * @Parameters N/A
+	 * @Returns The assets used by this Scene
+	 * Data Type: AssetManifest, LevelView
+	 * Dependencies: CGraphics library (by Colin)
+	 * Throws/Exceptions: N/A
+	 */
+	@Override
+	public AssetManifest getAssets() {
+		AssetManifest assets = new AssetManifest();
+		LevelView.addAssets(assets, level);
+		assets.addImages("menuItems/practiceMode.png", "menuItems/normalMode.png", "menuItems/resume.png", "menuItems/menu.png", "menuItems/playAgain.png", "tips/practiceModeTip.png");
+		assets.addFonts("Pusab.ttf");
+		return assets;
+	}
+	
 	/** Method Name: init()
 	 * @Author Colin Toft
 	 * @Date December 27th, 2019
-	 * @Modified December 30th, 2019, January 7th, 8th, 9th, 10th, 14th & 17th, 2020
+	 * @Modified December 30th, 2019, January 7th, 8th, 9th, 10th, 14th & 17th, 2020, October 18th, 2026
 	 * @Description Overrides Scene.init() and loads the text, images and menus necessary for this Scene
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: Scene, LevelView, DrawableOutlinedText, DrawableProgressBar, DrawableRoundedRectangle, Sprite, Panel
+	 * Data Type: Scene, LevelView, DrawableOutlinedText, DrawableCounter, DrawableProgressBar, DrawableRoundedRectangle, Sprite, Panel
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
@@ -106,15 +129,15 @@ public class PlayLevel extends Scene {
 		levelView = new LevelView(level);
 		add(levelView);
 		
-		Font titleFont = Util.loadFontFromFile(getClass(), "Pusab.ttf", 100); // The font object used to draw text
+		Font titleFont = FontRegistry.getFont("Pusab.ttf", 100); // The font object used to draw text
 		
 		// Create and add the attempt counter
-		attemptText = new DrawableOutlinedText(attemptTextStartX, 0.25, "Attempt " + attemptNumber, titleFont, Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+		attemptText = new DrawableCounter(attemptTextStartX, 0.25, "Attempt ", attemptNumber, "", titleFont, Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		attemptText.setMaxHeight(0.085);
 		add(attemptText);
 		
 		// Create and add the help text
-		helpText = new DrawableOutlinedText(0.5, 0.4, jumpHelpMessage, titleFont.deriveFont(100f), Color.white, Color.black, 1f, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+		helpText = new DrawableOutlinedText(0.5, 0.4, jumpHelpMessage, FontRegistry.deriveFont(titleFont, 100f), Color.white, Color.black, 1f, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		helpText.setMaxWidth(0.75);
 		needsJumpHelp = ((ShapeSprint) game).isFirstTime(); // If it is the first time playing, display the jump help message
 		if (!needsJumpHelp) {
@@ -124,15 +147,16 @@ public class PlayLevel extends Scene {
 		
 		// Create and add the progress bar that tracks the user's progress during the level
 		progressBar = new DrawableProgressBar(0.5 * (1 - progressBarWidth), 0.02, progressBarWidth, progressBarHeight, progressBarHeight * 0.65, progressBarHeight, Color.WHITE, 2f, Color.red, new Color(0, 0, 0, 0));
+		progressBar.setIncremental(true); // Its value changes on every update, so only draw the bar once for each size
 		add(progressBar);
 				
 		// Create and add the pause menu tip
-		pauseMenuHelpText = new DrawableOutlinedText(0.99, progressBar.getY() + progressBar.getHeight() + 0.005, pauseMenuHelpMessage, titleFont.deriveFont(100f), Color.white, Color.black, 1f, HorizontalAlign.RIGHT, VerticalAlign.TOP);
+		pauseMenuHelpText = new DrawableOutlinedText(0.99, progressBar.getY() + progressBar.getHeight() + 0.005, pauseMenuHelpMessage, FontRegistry.deriveFont(titleFont, 100f), Color.white, Color.black, 1f, HorizontalAlign.RIGHT, VerticalAlign.TOP);
 		pauseMenuHelpText.setMaxWidth(0.5);
 		add(pauseMenuHelpText);
 		
 		// Create and add the percentage text that tracks the user's progress during the level
-		percentageText = new DrawableOutlinedText(progressBar.getX() + progressBar.getWidth() + 0.005, progressBar.getCenterY(), "0%", titleFont.deriveFont(60f), Color.white, Color.black, 1f, HorizontalAlign.LEFT, VerticalAlign.CENTER);
+		percentageText = new DrawableCounter(progressBar.getX() + progressBar.getWidth() + 0.005, progressBar.getCenterY(), "", 0, "%", FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, 1f, HorizontalAlign.LEFT, VerticalAlign.CENTER);
 		percentageText.setMaxHeight(progressBarHeight);
 		add(percentageText);
 		
@@ -145,19 +169,19 @@ public class PlayLevel extends Scene {
 		// Add the normal mode progress bar and percentage text
 		normalProgressBar = new DrawableProgressBar(0.1, 0.3, 0.8, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.GREEN, new Color(0, 0, 0, 70));
 		normalProgressBar.setValue(level.normalProgress);
-		DrawableOutlinedText normalModeText = new DrawableOutlinedText(0.5, normalProgressBar.getY() - 0.01, "Normal Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText normalModeText = new DrawableOutlinedText(0.5, normalProgressBar.getY() - 0.01, "Normal Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		normalModeText.setMaxHeight(normalProgressBar.getHeight() * 0.7);
 		normalPercentageText = new DrawableOutlinedText(normalProgressBar.getCenterX(), normalProgressBar.getCenterY(),
-				Util.toPercentageString(normalProgressBar.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(normalProgressBar.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		normalPercentageText.setMaxHeight(normalProgressBar.getHeight() * 0.7);
 		
 		// Add the practice mode progress bar and percentage text
 		practiceProgressBar = new DrawableProgressBar(0.1, 0.55, 0.8, 0.1, 0.05, 0.16, Color.BLACK, 2f, Color.CYAN, new Color(0, 0, 0, 70));
 		practiceProgressBar.setValue(level.practiceProgress);
-		DrawableOutlinedText practiceModeText = new DrawableOutlinedText(0.5, practiceProgressBar.getY() - 0.01, "Practice Mode", titleFont.deriveFont(75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
+		DrawableOutlinedText practiceModeText = new DrawableOutlinedText(0.5, practiceProgressBar.getY() - 0.01, "Practice Mode", FontRegistry.deriveFont(titleFont, 75f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.BOTTOM);
 		practiceModeText.setMaxHeight(practiceProgressBar.getHeight() * 0.7);
 		practicePercentageText = new DrawableOutlinedText(practiceProgressBar.getCenterX(), practiceProgressBar.getCenterY(),
-				Util.toPercentageString(practiceProgressBar.getValue()), titleFont.deriveFont(60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
+				Util.toPercentageString(practiceProgressBar.getValue()), FontRegistry.deriveFont(titleFont, 60f), Color.white, Color.black, HorizontalAlign.CENTER, VerticalAlign.CENTER);
 		practicePercentageText.setMaxHeight(practiceProgressBar.getHeight() * 0.7);
 		
 		double progressBarBottom = practiceProgressBar.getY() + practiceProgressBar.getHeight(); // The bottom coordinate of the lower progress bar
@@ -244,12 +268,12 @@ public class PlayLevel extends Scene {
 	/** Method Name: update()
 	 * @Author Colin Toft
 	 * @Date January 7th, 2020
-	 * @Modified January 8th & 16th, 2020
+	 * @Modified January 8th & 16th, 2020, October 18th, 2026
 	 * @Description Overrides Scene.update() and updates the level progress bar, attempt counter, and help text
 	 * @Parameters
 	 *      - double dt: The time that has elapsed since the last time update() was called
 	 * @Returns N/A
-	 * Data Type: Scene, LevelView, ShapeSprint, DrawableOutlinedText, DrawableProgressBar
+	 * Data Type: Scene, LevelView, ShapeSprint, DrawableOutlinedText, DrawableCounter, DrawableProgressBar
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
@@ -259,7 +283,7 @@ public class PlayLevel extends Scene {
 		attemptText.moveLeft(dt * levelView.getScrollSpeed()); // Move the attempt text to the left along with the level
 		// Update the progress bar and percentage text to reflect the user's progress in the level
 		progressBar.setValue(levelView.getPlayerProgress());
-		percentageText.setText(Util.toPercentageString(levelView.getPlayerProgress()));
+		percentageText.setValue(Util.toPercentage(levelView.getPlayerProgress())); // Does nothing unless the percentage has changed
 		
 		ShapeSprint ss = (ShapeSprint) game;
 
@@ -350,18 +374,18 @@ public class PlayLevel extends Scene {
 	/** Method Name: restartLevel()
 	 * @Author Colin Toft
 	 * @Date January 7th, 2020
-	 * @Modified January 8th & 9th, 2020
+	 * @Modified January 8th & 9th, 2020, October 18th, 2026
 	 * @Description Resets the position of the components when the player restarts the level
 	 * @Parameters N/A
 	 * @Returns N/A
-	 * Data Type: DrawableOutlinedText, DrawableProgressBar
+	 * Data Type: DrawableCounter, DrawableProgressBar
 	 * Dependencies: CGraphics library (by Colin)
 	 * Throws/Exceptions: N/A
 	 */
 	public void restartLevel() {
 		// Increase the attempt number by 1 and reposition the attempt text
 		attemptNumber++;
-		attemptText.setText("Attempt " + attemptNumber);
+		attemptText.setValue(attemptNumber);
 		attemptText.setX(attemptTextStartX);
 		
 		// If the user has died twice without jumping, display the jump help message